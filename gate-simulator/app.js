@@ -3,26 +3,82 @@ const express = require('express');
 const uuidv4 = require('uuid/v4');
 
 const data = JSON.parse(fs.readFileSync('data.json', 'UTF-8'));
-console.log(data);
+const config = process.env.GATE_CONFIG ? JSON.parse(fs.readFileSync(process.env.GATE_CONFIG, 'UTF-8')) : {};
+const logRequests = process.env.LOG_REQUESTS
+  ? process.env.LOG_REQUESTS !== 'false'
+  : config.logRequests !== false;
+const endpoints = config.endpoints || {};
+
+const cards = new Map(data.map(o => [o.number, o]));
+const decisionLog = process.env.DECISION_LOG ? fs.createWriteStream(process.env.DECISION_LOG, {flags: 'a'}) : null;
+if (logRequests) {
+  console.log(data);
+}
+console.log(`Gate config: ${JSON.stringify(config)}`);
+
+const gaussian = () => {
+  let u = 0;
+  while (u === 0) u = Math.random();
+  return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * Math.random());
+};
+
+const latency = (options) => {
+  if (!options) return 0;
+  switch (options.distribution) {
+    case 'fixed':
+      return options.value;
+    case 'uniform':
+      return options.min + Math.random() * (options.max - options.min);
+    case 'normal':
+      return Math.max(0, options.mean + gaussian() * options.stddev);
+    case 'lognormal':
+      return options.median * Math.exp(gaussian() * options.sigma);
+    case 'exponential':
+      return -options.mean * Math.log(1 - Math.random());
+    default:
+      return 0;
+  }
+};
 
 const server = express();
 server.use(express.json());
 
 server.post(['/payment', '/credit'], (req, res) => {
-  console.log(`Incoming request: ${req.path} ${JSON.stringify(req.body)}`);
+  if (logRequests) {
+    console.log(`Incoming request: ${req.path} ${JSON.stringify(req.body)}`);
+  }
   const {body: {number}} = req;
+  const endpoint = endpoints[req.path] || {};
 
-  const [item] = data.filter(o => o.number === number);
-  if (item === undefined) {
-    res.status(400).end();
+  const roll = Math.random();
+  const timeoutRate = endpoint.timeoutRate || 0;
+  if (roll < timeoutRate) {
+    setTimeout(() => req.socket.destroy(), endpoint.hangMs || 60000);
     return;
   }
 
-  res.send({
-    id: uuidv4(),
-    status: item.status,
-  });
+  setTimeout(() => {
+    if (roll < timeoutRate + (endpoint.errorRate || 0)) {
+      res.status(endpoint.errorStatus || 500).end();
+      return;
+    }
+
+    const item = cards.get(number);
+    if (item === undefined) {
+      res.status(400).end();
+      return;
+    }
+
+    const id = uuidv4();
+    if (decisionLog) {
+      decisionLog.write(`${JSON.stringify({id, endpoint: req.path, status: item.status, time: Date.now()})}\n`);
+    }
+    res.send({
+      id,
+      status: item.status,
+    });
+  }, latency(endpoint.latency));
 });
 
 // get port from environment variable or just use 9999
-server.listen(process.env.PORT || 9999);
\ No newline at end of file
+server.listen(process.env.PORT || 9999);
@@ -0,0 +1,2 @@
+GRANT ALL PRIVILEGES ON `db_mysql_w%`.* TO 'app'@'%';
+FLUSH PRIVILEGES;
@@ -0,0 +1,64 @@
+package ru.netology.bench;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+final class BenchDatabase {
+
+    private BenchDatabase() {
+    }
+
+    static String create(String name, int purchases) throws SQLException {
+        var url = "jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        try (var connection = DriverManager.getConnection(url, "app", "pass");
+             var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE payment_entity (id VARCHAR(36) PRIMARY KEY, amount INT, created TIMESTAMP, " +
+                    "status VARCHAR(16), transaction_id VARCHAR(36))");
+            statement.execute("CREATE TABLE credit_request_entity (id VARCHAR(36) PRIMARY KEY, bank_id VARCHAR(36), " +
+                    "created TIMESTAMP, status VARCHAR(16))");
+            statement.execute("CREATE TABLE order_entity (id VARCHAR(36) PRIMARY KEY, created TIMESTAMP, " +
+                    "credit_id VARCHAR(36), payment_id VARCHAR(36))");
+            connection.setAutoCommit(false);
+            var random = new SplittableRandom(42);
+            var now = System.currentTimeMillis();
+            try (var payment = connection.prepareStatement("INSERT INTO payment_entity VALUES (?, ?, ?, ?, ?)");
+                 var credit = connection.prepareStatement("INSERT INTO credit_request_entity VALUES (?, ?, ?, ?)");
+                 var order = connection.prepareStatement("INSERT INTO order_entity VALUES (?, ?, ?, ?)")) {
+                for (int i = 0; i < purchases; i++) {
+                    var created = new Timestamp(now - purchases + i);
+                    var status = random.nextBoolean() ? "APPROVED" : "DECLINED";
+                    var key = UUID.randomUUID().toString();
+                    order.setString(1, UUID.randomUUID().toString());
+                    order.setTimestamp(2, created);
+                    if (i % 2 == 0) {
+                        payment.setString(1, UUID.randomUUID().toString());
+                        payment.setInt(2, 4_500_000);
+                        payment.setTimestamp(3, created);
+                        payment.setString(4, status);
+                        payment.setString(5, key);
+                        payment.addBatch();
+                        order.setString(3, null);
+                        order.setString(4, key);
+                    } else {
+                        credit.setString(1, key);
+                        credit.setString(2, UUID.randomUUID().toString());
+                        credit.setTimestamp(3, created);
+                        credit.setString(4, status);
+                        credit.addBatch();
+                        order.setString(3, key);
+                        order.setString(4, null);
+                    }
+                    order.addBatch();
+                }
+                payment.executeBatch();
+                credit.executeBatch();
+                order.executeBatch();
+            }
+            connection.commit();
+        }
+        return url;
+    }
+}
@@ -0,0 +1,59 @@
+package ru.netology.bench;
+
+import org.openjdk.jmh.annotations.*;
+import ru.netology.data.DataGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Threads(1)
+public class DataGeneratorBenchmark {
+
+    @Benchmark
+    public DataGenerator.CardData validApprovedCard() {
+        return DataGenerator.getValidApprovedCard();
+    }
+
+    @Benchmark
+    public DataGenerator.CardData validDeclinedCard() {
+        return DataGenerator.getValidDeclinedCard();
+    }
+
+    @Benchmark
+    public String owner() {
+        return DataGenerator.getOwner();
+    }
+
+    @Benchmark
+    public String ownerWithCyrillic() {
+        return DataGenerator.getOwnerWithCyrillic();
+    }
+
+    @Benchmark
+    public String ownerWithSymbols() {
+        return DataGenerator.getOwnerWithSymbols();
+    }
+
+    @Benchmark
+    public String cvc() {
+        return DataGenerator.getCVC();
+    }
+
+    @Benchmark
+    public String lessThan3Cvc() {
+        return DataGenerator.getLessThan3Cvc();
+    }
+
+    @Benchmark
+    public String twoDigitsGreaterThan12() {
+        return DataGenerator.getTwoDigitsGreaterThan12();
+    }
+
+    @Benchmark
+    public String month() {
+        return DataGenerator.getMonth(3);
+    }
+}
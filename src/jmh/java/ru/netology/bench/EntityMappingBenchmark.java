@@ -0,0 +1,87 @@
+package ru.netology.bench;
+
+import org.apache.commons.dbutils.QueryRunner;
+import org.apache.commons.dbutils.handlers.BeanListHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.netology.data.DbHelper;
+import ru.netology.data.RowMappers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class EntityMappingBenchmark {
+
+    @Param({"1", "1000"})
+    public int rows;
+
+    private Connection connection;
+    private final QueryRunner runner = new QueryRunner();
+
+    @Setup
+    public void setUp() throws SQLException {
+        var url = BenchDatabase.create("mapping" + rows, rows * 2);
+        connection = DriverManager.getConnection(url, "app", "pass");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void rawPaymentColumns(Blackhole blackhole) throws SQLException {
+        try (var statement = connection.prepareStatement("SELECT * FROM payment_entity LIMIT ?")) {
+            statement.setInt(1, rows);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    blackhole.consume(resultSet.getString("id"));
+                    blackhole.consume(resultSet.getInt("amount"));
+                    blackhole.consume(resultSet.getTimestamp("created"));
+                    blackhole.consume(resultSet.getString("status"));
+                    blackhole.consume(resultSet.getString("transaction_id"));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public List<DbHelper.PaymentEntity> paymentBeanHandler() throws SQLException {
+        return runner.query(connection, "SELECT * FROM payment_entity LIMIT ?",
+                new BeanListHandler<>(DbHelper.PaymentEntity.class), rows);
+    }
+
+    @Benchmark
+    public List<DbHelper.OrderEntity> orderBeanHandler() throws SQLException {
+        return runner.query(connection, "SELECT * FROM order_entity LIMIT ?",
+                new BeanListHandler<>(DbHelper.OrderEntity.class), rows);
+    }
+
+    @Benchmark
+    public List<DbHelper.CreditRequestEntity> creditRequestBeanHandler() throws SQLException {
+        return runner.query(connection, "SELECT * FROM credit_request_entity LIMIT ?",
+                new BeanListHandler<>(DbHelper.CreditRequestEntity.class), rows);
+    }
+
+    @Benchmark
+    public List<DbHelper.PaymentEntity> paymentRowMapper() throws SQLException {
+        return runner.query(connection, "SELECT * FROM payment_entity LIMIT ?", RowMappers.PAYMENT.list(), rows);
+    }
+
+    @Benchmark
+    public List<DbHelper.OrderEntity> orderRowMapper() throws SQLException {
+        return runner.query(connection, "SELECT * FROM order_entity LIMIT ?", RowMappers.ORDER.list(), rows);
+    }
+
+    @Benchmark
+    public List<DbHelper.CreditRequestEntity> creditRequestRowMapper() throws SQLException {
+        return runner.query(connection, "SELECT * FROM credit_request_entity LIMIT ?", RowMappers.CREDIT_REQUEST.list(), rows);
+    }
+}
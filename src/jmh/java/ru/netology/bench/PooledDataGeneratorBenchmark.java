@@ -0,0 +1,7 @@
+package ru.netology.bench;
+
+import org.openjdk.jmh.annotations.Fork;
+
+@Fork(value = 1, jvmArgsAppend = "-Ddata.pooled=true")
+public class PooledDataGeneratorBenchmark extends DataGeneratorBenchmark {
+}
@@ -0,0 +1,58 @@
+package ru.netology.bench;
+
+import org.openjdk.jmh.annotations.*;
+import ru.netology.data.DbHelper;
+import ru.netology.data.PurchaseVerifier;
+import ru.netology.data.Watermark;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class VerificationQueryBenchmark {
+
+    @Param({"10000", "100000"})
+    public int purchases;
+
+    private String transactionId;
+    private Watermark mark;
+    private PurchaseVerifier verifier;
+
+    @Setup
+    public void setUp() throws SQLException {
+        System.setProperty("db.url", BenchDatabase.create("verification" + purchases, purchases));
+        transactionId = DbHelper.getPaymentsAfter(Watermark.origin("payment_entity")).get(0).getTransaction_id();
+        mark = DbHelper.markPayments();
+        verifier = PurchaseVerifier.after(Watermark.origin("payment_entity"), Watermark.origin("credit_request_entity"), Watermark.origin("order_entity"));
+        verifier.expectPayment("APPROVED");
+    }
+
+    @TearDown
+    public void tearDown() {
+        DbHelper.shutdown();
+    }
+
+    @Benchmark
+    public Watermark paymentWatermark() {
+        return DbHelper.markPayments();
+    }
+
+    @Benchmark
+    public List<DbHelper.PaymentEntity> paymentsAfterWatermark() {
+        return DbHelper.getPaymentsAfter(mark);
+    }
+
+    @Benchmark
+    public List<DbHelper.OrderEntity> ordersByPaymentId() {
+        return DbHelper.getOrdersByPaymentId(transactionId);
+    }
+
+    @Benchmark
+    public List<String> batchVerification() {
+        return verifier.verify();
+    }
+}
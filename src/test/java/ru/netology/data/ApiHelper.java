@@ -0,0 +1,57 @@
+package ru.netology.data;
+
+import com.google.gson.Gson;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import io.restassured.specification.RequestSpecification;
+import lombok.Value;
+import ru.netology.env.SutExtension;
+
+import static io.restassured.RestAssured.given;
+
+public class ApiHelper {
+
+    private static final Gson gson = new Gson();
+
+    private static final RequestSpecification requestSpec = new RequestSpecBuilder()
+            .setBasePath("/api/v1")
+            .setAccept(ContentType.JSON)
+            .setContentType(ContentType.JSON)
+            .build();
+
+    private ApiHelper() {
+    }
+
+    @Value
+    public static class PurchaseRequest {
+        String number;
+        String year;
+        String month;
+        String holder;
+        String cvc;
+    }
+
+    public static PurchaseRequest toRequest(DataGenerator.CardData cardData) {
+        return new PurchaseRequest(cardData.getNumber(), cardData.getYear(), cardData.getMonth(),
+                cardData.getOwner(), cardData.getCvc());
+    }
+
+    public static ValidatableResponse pay(DataGenerator.CardData cardData) {
+        return send("/pay", cardData);
+    }
+
+    public static ValidatableResponse credit(DataGenerator.CardData cardData) {
+        return send("/credit", cardData);
+    }
+
+    private static ValidatableResponse send(String path, DataGenerator.CardData cardData) {
+        return given()
+                .spec(requestSpec)
+                .baseUri(SutExtension.url())
+                .body(gson.toJson(toRequest(cardData)))
+                .when()
+                .post(path)
+                .then();
+    }
+}
@@ -2,23 +2,97 @@ package ru.netology.data;
 
 import com.github.javafaker.Faker;
 import lombok.Value;
+import lombok.With;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DataGenerator {
 
-    private static final Faker faker = new Faker(new Locale("en"));
-    private static final Faker fakerWithCyrillic = new Faker(new Locale("ru", "RU"));
-
     private static final String approvedCard = "4444 4444 4444 4441";
     private static final String declinedCard = "4444 4444 4444 4442";
 
+    private static final DateTimeFormatter monthFormat = DateTimeFormatter.ofPattern("MM");
+    private static final DateTimeFormatter yearFormat = DateTimeFormatter.ofPattern("yy");
+
+    private static final String[] greaterThan12 = range(13, 99);
+    private static final String[] greaterThan28 = range(29, 99);
+    private static final String[] oneDigit = range(0, 9);
+    private static final String[] cvcLess = lessThan3Cvc();
+
+    private static final boolean pooled = Boolean.getBoolean("data.pooled");
+
+    private static final long baseSeed = Long.getLong("data.seed", System.nanoTime());
+    private static final AtomicLong streams = new AtomicLong();
+    private static final ThreadLocal<Source> source = ThreadLocal.withInitial(
+            () -> new Source(mix(baseSeed + streams.incrementAndGet())));
+
     private DataGenerator() {
     }
 
+    private static class Source {
+        private final Random random = new Random();
+        private final Random cyrillicRandom = new Random();
+        private final Faker faker = new Faker(Locale.ENGLISH, random);
+        private final Faker fakerWithCyrillic = new Faker(Locale.of("ru", "RU"), cyrillicRandom);
+        private long seed;
+
+        private Source(long seed) {
+            reseed(seed);
+        }
+
+        private void reseed(long seed) {
+            this.seed = seed;
+            random.setSeed(seed);
+            cyrillicRandom.setSeed(mix(seed));
+        }
+    }
+
+    private static class Pools {
+        private static final int size = Integer.getInteger("data.pool.size", 4096);
+        private static final Faker faker = new Faker(Locale.ENGLISH, new Random(baseSeed));
+        private static final Faker fakerWithCyrillic = new Faker(Locale.of("ru", "RU"), new Random(mix(baseSeed)));
+
+        private static final DataPool<String> owners = new DataPool<>(size, () -> generateOwner(faker));
+        private static final DataPool<String> cvcs = new DataPool<>(size, () -> generateCvc(faker));
+        private static final DataPool<String> cyrillicOwners = new DataPool<>(size,
+                () -> generateOwnerWithCyrillic(fakerWithCyrillic));
+        private static final DataPool<String> lowerCaseOwners = new DataPool<>(size,
+                () -> generateOwnerWithLatinLowerCase(faker));
+        private static final DataPool<String> capitalLetterOwners = new DataPool<>(size,
+                () -> generateOwnerWithCapitalLetters(faker));
+        private static final DataPool<CardData> approvedCards = new DataPool<>(size,
+                () -> new CardData(approvedCard, getMonth(3), getYear(1), owners.next(), cvcs.next()));
+        private static final DataPool<CardData> declinedCards = new DataPool<>(size,
+                () -> new CardData(declinedCard, getMonth(2), getYear(1), owners.next(), cvcs.next()));
+    }
+
+    public static long getBaseSeed() {
+        return baseSeed;
+    }
+
+    public static long getSeed() {
+        return source.get().seed;
+    }
+
+    public static long seedFor(String key) {
+        return mix(baseSeed ^ mix(key.hashCode()));
+    }
+
+    public static void reseed(long seed) {
+        source.get().reseed(seed);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
     @Value
+    @With
     public static class CardData {
         String number;
         String month;
@@ -27,127 +101,148 @@ public class DataGenerator {
         String cvc;
     }
 
+    private static String[] range(int from, int to) {
+        var values = new String[to - from + 1];
+        for (int i = from; i <= to; i++) {
+            values[i - from] = String.valueOf(i);
+        }
+        return values;
+    }
+
+    private static String[] lessThan3Cvc() {
+        var values = new String[101];
+        System.arraycopy(range(0, 99), 0, values, 0, 100);
+        values[100] = "00";
+        return values;
+    }
+
+    private static String pick(String[] values) {
+        return values[source.get().random.nextInt(values.length)];
+    }
+
+    private static String generateOwner(Faker faker) {
+        return faker.name().fullName().toUpperCase();
+    }
+
+    private static String generateCvc(Faker faker) {
+        return faker.numerify("###");
+    }
+
+    private static String generateOwnerWithCyrillic(Faker faker) {
+        return faker.name().firstName().toUpperCase() + " " + faker.name().lastName().toUpperCase();
+    }
+
+    private static String generateOwnerWithLatinLowerCase(Faker faker) {
+        return faker.name().firstName().toLowerCase() + " " + faker.name().lastName().toLowerCase();
+    }
+
+    private static String generateOwnerWithCapitalLetters(Faker faker) {
+        return faker.name().firstName() + " " + faker.name().lastName();
+    }
+
     public static CardData getValidApprovedCard() {
+        if (pooled) {
+            return Pools.approvedCards.next();
+        }
         return new CardData(approvedCard, getMonth(3), getYear(1), getOwner(), getCVC());
     }
 
     public static CardData getValidDeclinedCard() {
+        if (pooled) {
+            return Pools.declinedCards.next();
+        }
         return new CardData(declinedCard, getMonth(2), getYear(1), getOwner(), getCVC());
     }
 
     public static String getCardNumberWith13Digits() {
-        return faker.numerify("4444 4444 4444 4");
+        return "4444 4444 4444 4";
     }
 
     public static String getCardNumberWith16Zero() {
-        return faker.numerify("0000 0000 0000 0000");
+        return "0000 0000 0000 0000";
     }
 
     public static String getEmptyCardNumber() {
-        return faker.numerify("");
+        return "";
     }
 
     public static String getMonth(int shiftMonth) {
-        return LocalDate.now().plusMonths(shiftMonth).format(DateTimeFormatter.ofPattern("MM"));
+        return LocalDate.now().plusMonths(shiftMonth).format(monthFormat);
     }
 
     public static String getTwoDigitsGreaterThan12() {
-        var greaterThan12 = new String[]{"13", "14", "15", "16", "17", "18", "19", "20", "21", "22", "23",
-                "24", "25", "26", "27", "28", "29", "30", "31", "32", "33", "34", "35", "36", "37", "38",
-                "39", "40", "41", "42", "43", "44", "45", "46", "47", "48", "49", "50", "51", "52", "53",
-                "54", "55", "56", "57", "58", "59", "60", "61", "62", "63", "64", "65", "66", "67", "68",
-                "69", "70", "71", "72", "73", "74", "75", "76", "77", "78", "79", "80", "81", "82", "83",
-                "84", "85", "86", "87", "88", "89", "90", "91", "92", "93", "94", "95", "96", "97", "98", "99"
-    };
-        return greaterThan12[new Random().nextInt(greaterThan12.length)];
+        return pick(greaterThan12);
     }
 
     public static String getZeroDigit() {
-        return faker.numerify("0");
+        return "0";
     }
 
     public static String getTwoZeroDigits() {
-        return faker.numerify("00");
+        return "00";
     }
 
     public static String getOneDigit() {
-        var oneDigit = new String[]{"0", "1", "2", "3", "4", "5", "6", "7", "8", "9"
-        };
-        return oneDigit[new Random().nextInt(oneDigit.length)];
+        return pick(oneDigit);
     }
 
     public static String getEmptyMonth() {
-        return faker.regexify("");
+        return "";
     }
 
     public static String getYear(int shiftYear) {
-        return LocalDate.now().plusYears(shiftYear).format(DateTimeFormatter.ofPattern("yy"));
+        return LocalDate.now().plusYears(shiftYear).format(yearFormat);
     }
 
     public static String getEmptyYear() {
-        return faker.numerify("");
+        return "";
     }
 
     public static String getTwoDigitsGreaterThan28() {
-        var greaterThan28 = new String[]{"29", "30", "31", "32", "33", "34", "35", "36", "37", "38", "39",
-                "40", "41", "42", "43", "44", "45", "46", "47", "48", "49", "50", "51", "52", "53", "54",
-                "55", "56", "57", "58", "59", "60", "61", "62", "63", "64", "65", "66", "67", "68", "69",
-                "70", "71", "72", "73", "74", "75", "76", "77", "78", "79", "80", "81", "82", "83", "84",
-                "85", "86", "87", "88", "89", "90", "91", "92", "93", "94", "95", "96", "97", "98", "99"
-        };
-        return greaterThan28[new Random().nextInt(greaterThan28.length)];
+        return pick(greaterThan28);
     }
 
     public static String getOwner() {
-        return faker.name().fullName().toUpperCase();
+        return pooled ? Pools.owners.next() : generateOwner(source.get().faker);
     }
 
     public static String getOwnerWithFigures() {
-        return faker.numerify("################# ################");
+        return source.get().faker.numerify("################# ################");
     }
 
     public static String getOwnerWithSymbols() {
-        return faker.regexify("[!@#$%^&*()_+-={}|?><]{6} [!@#$%^&*()_+-={}|?><]{5}");
+        return source.get().faker.regexify("[!@#$%^&*()_+-={}|?><]{6} [!@#$%^&*()_+-={}|?><]{5}");
     }
 
     public static String getOwnerWithCyrillic() {
-        return fakerWithCyrillic.name().firstName().toUpperCase() + " " + fakerWithCyrillic.name().lastName().toUpperCase();
+        return pooled ? Pools.cyrillicOwners.next() : generateOwnerWithCyrillic(source.get().fakerWithCyrillic);
     }
 
     public static String getOwnerWithLatinLowerCase() {
-        return faker.name().firstName().toLowerCase() + " " + faker.name().lastName().toLowerCase();
+        return pooled ? Pools.lowerCaseOwners.next() : generateOwnerWithLatinLowerCase(source.get().faker);
     }
 
     public static String getOwnerWithCapitalLetters() {
-        return faker.name().firstName() + " " + faker.name().lastName();
+        return pooled ? Pools.capitalLetterOwners.next() : generateOwnerWithCapitalLetters(source.get().faker);
     }
 
     public static String getOwnerWithLatinUpperCaseMoreThan85Symbols() {
-        return faker.letterify("??????????????????????????????????????????? ???????????????????????????????????????????");
+        return source.get().faker.letterify("??????????????????????????????????????????? ???????????????????????????????????????????");
     }
 
     public static String getEmptyOwner() {
-        return faker.letterify("");
+        return "";
     }
 
     public static String getCVC() {
-        return faker.numerify("###");
+        return pooled ? Pools.cvcs.next() : generateCvc(source.get().faker);
     }
 
     public static String getLessThan3Cvc() {
-        var cvcLess = new String[]{"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12",
-                "13", "14", "15", "16", "17", "18", "19", "20", "21", "22", "23", "24", "25", "26",
-                "27", "28", "29", "30", "31", "32", "33", "34", "35", "36", "37", "38", "39", "40",
-                "41", "42", "43", "44", "45", "46", "47", "48", "49", "50", "51", "52", "53", "54",
-                "55", "56", "57", "58", "59", "60", "61", "62", "63", "64", "65", "66", "67", "68",
-                "69", "70", "71", "72", "73", "74", "75", "76", "77", "78", "79", "80", "81", "82",
-                "83", "84", "85", "86", "87", "88", "89", "90", "91", "92", "93", "94", "95", "96",
-                "97", "98", "99", "00"
-        };
-        return cvcLess[new Random().nextInt(cvcLess.length)];
-        }
+        return pick(cvcLess);
+    }
 
-        public static String getEmptyCVC() {
-            return faker.bothify("");
+    public static String getEmptyCVC() {
+        return "";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package ru.netology.data;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+final class DataPool<T> {
+
+    private final Object[] items;
+    private final int mask;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    DataPool(int size, Supplier<T> generator) {
+        var capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        this.items = new Object[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            items[i] = generator.get();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    T next() {
+        return (T) items[cursor.getAndIncrement() & mask];
+    }
+
+    int size() {
+        return items.length;
+    }
+}
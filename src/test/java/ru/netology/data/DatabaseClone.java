@@ -0,0 +1,118 @@
+package ru.netology.data;
+
+import org.apache.commons.dbutils.QueryRunner;
+import org.apache.commons.dbutils.handlers.ColumnListHandler;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+public class DatabaseClone implements ExtensionContext.Store.CloseableResource {
+
+    private static final String TEMPLATE_IN_USE = "55006";
+
+    private final Dialect dialect;
+    private final String templateUrl;
+    private final String template;
+    private final String name;
+
+    private DatabaseClone(Dialect dialect, String templateUrl, String template, String name) {
+        this.dialect = dialect;
+        this.templateUrl = templateUrl;
+        this.template = template;
+        this.name = name;
+    }
+
+    public static boolean isEnabled() {
+        return "clone".equals(System.getProperty("db.isolation", "none"));
+    }
+
+    public static DatabaseClone create() throws SQLException, InterruptedException {
+        var templateUrl = System.getProperty("db.url");
+        var dialect = Dialect.fromUrl(templateUrl);
+        var template = databaseName(templateUrl);
+        var name = template + "_w" + System.getProperty("org.gradle.test.worker", "0");
+        var clone = new DatabaseClone(dialect, templateUrl, template, name);
+        clone.drop();
+        if (dialect == Dialect.POSTGRESQL) {
+            clone.copyPostgresql();
+        } else {
+            clone.copyMysql();
+        }
+        System.setProperty("db.url", withDatabase(templateUrl, name));
+        return clone;
+    }
+
+    private void copyPostgresql() throws SQLException, InterruptedException {
+        var deadline = System.nanoTime() + Duration.ofMinutes(1).toNanos();
+        while (true) {
+            try (var connection = admin()) {
+                new QueryRunner().update(connection, "CREATE DATABASE " + quote(name) + " TEMPLATE " + quote(template));
+                return;
+            } catch (SQLException e) {
+                if (!TEMPLATE_IN_USE.equals(e.getSQLState()) || System.nanoTime() > deadline) {
+                    throw e;
+                }
+                TimeUnit.MILLISECONDS.sleep(100 + (long) (Math.random() * 400));
+            }
+        }
+    }
+
+    private void copyMysql() throws SQLException {
+        var runner = new QueryRunner();
+        try (var connection = admin()) {
+            runner.update(connection, "CREATE DATABASE " + quote(name));
+            var tables = runner.query(connection,
+                    "SELECT table_name FROM information_schema.tables WHERE table_schema = ? AND table_type = 'BASE TABLE'",
+                    new ColumnListHandler<String>(1), template);
+            runner.update(connection, "SET FOREIGN_KEY_CHECKS = 0");
+            try {
+                for (String table : tables) {
+                    runner.update(connection, "CREATE TABLE " + quote(name) + "." + quote(table) + " LIKE " + quote(template) + "." + quote(table));
+                    runner.update(connection, "INSERT INTO " + quote(name) + "." + quote(table) + " SELECT * FROM " + quote(template) + "." + quote(table));
+                }
+            } finally {
+                runner.update(connection, "SET FOREIGN_KEY_CHECKS = 1");
+            }
+        }
+    }
+
+    private void drop() throws SQLException {
+        try (var connection = admin()) {
+            var force = dialect == Dialect.POSTGRESQL ? " WITH (FORCE)" : "";
+            new QueryRunner().update(connection, "DROP DATABASE IF EXISTS " + quote(name) + force);
+        }
+    }
+
+    private Connection admin() throws SQLException {
+        var url = dialect == Dialect.POSTGRESQL ? withDatabase(templateUrl, "postgres") : templateUrl;
+        return DriverManager.getConnection(url, DbHelper.USER, DbHelper.PASSWORD);
+    }
+
+    private String quote(String identifier) {
+        return dialect == Dialect.POSTGRESQL ? "\"" + identifier + "\"" : "`" + identifier + "`";
+    }
+
+    static String databaseName(String url) {
+        var uri = URI.create(url.substring("jdbc:".length()));
+        return uri.getPath().substring(1);
+    }
+
+    static String withDatabase(String url, String database) {
+        var prefix = "jdbc:";
+        var uri = URI.create(url.substring(prefix.length()));
+        var query = uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery();
+        return prefix + uri.getScheme() + "://" + uri.getRawAuthority() + "/" + database + query;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        DbHelper.shutdown();
+        System.setProperty("db.url", templateUrl);
+        drop();
+    }
+}
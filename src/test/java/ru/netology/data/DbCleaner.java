@@ -0,0 +1,60 @@
+package ru.netology.data;
+
+import lombok.SneakyThrows;
+import org.apache.commons.dbutils.QueryRunner;
+
+public class DbCleaner {
+
+    private DbCleaner() {
+    }
+
+    public enum Strategy {
+        NONE,
+        TRUNCATE,
+        DELETE,
+        SCOPED
+    }
+
+    public static Strategy configuredStrategy() {
+        return Strategy.valueOf(System.getProperty("db.reset", "none").toUpperCase());
+    }
+
+    @SneakyThrows
+    public static void truncateAll() {
+        var runner = new QueryRunner();
+        try (var connection = DbHelper.getConnection()) {
+            if (Dialect.current() == Dialect.POSTGRESQL) {
+                runner.update(connection, "TRUNCATE TABLE credit_request_entity, payment_entity, order_entity;");
+                return;
+            }
+            runner.update(connection, "SET FOREIGN_KEY_CHECKS = 0;");
+            try {
+                runner.update(connection, "TRUNCATE TABLE credit_request_entity;");
+                runner.update(connection, "TRUNCATE TABLE payment_entity;");
+                runner.update(connection, "TRUNCATE TABLE order_entity;");
+            } finally {
+                runner.update(connection, "SET FOREIGN_KEY_CHECKS = 1;");
+            }
+        }
+    }
+
+    @SneakyThrows
+    public static void deleteAll() {
+        var runner = new QueryRunner();
+        try (var connection = DbHelper.getConnection()) {
+            runner.update(connection, "DELETE FROM credit_request_entity;");
+            runner.update(connection, "DELETE FROM payment_entity;");
+            runner.update(connection, "DELETE FROM order_entity;");
+        }
+    }
+
+    @SneakyThrows
+    public static void deleteAfter(Watermark... marks) {
+        var runner = new QueryRunner();
+        try (var connection = DbHelper.getConnection()) {
+            for (Watermark mark : marks) {
+                runner.update(connection, "DELETE FROM " + mark.getTable() + " WHERE " + mark.filter("") + ";", mark.params());
+            }
+        }
+    }
+}
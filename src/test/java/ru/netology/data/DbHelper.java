@@ -1,33 +1,97 @@
 package ru.netology.data;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import lombok.*;
 import org.apache.commons.dbutils.QueryRunner;
-import org.apache.commons.dbutils.handlers.BeanHandler;
-import org.apache.commons.dbutils.handlers.ScalarHandler;
+import org.apache.commons.dbutils.ResultSetHandler;
+import ru.netology.report.PhaseTimer;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
 
 public class DbHelper {
 
-    private static Connection connection;
+    public static final String PURCHASE_LOCK = "purchase";
 
-    @SneakyThrows
-    public static void setup() {
-        connection = DriverManager.getConnection(System.getProperty("db.url"), "app", "pass");
+    static final String USER = "app";
+    static final String PASSWORD = "pass";
+
+    private static volatile HikariDataSource dataSource;
+
+    private DbHelper() {
+    }
+
+    private static HikariDataSource getDataSource() {
+        var current = dataSource;
+        if (current == null) {
+            synchronized (DbHelper.class) {
+                current = dataSource;
+                if (current == null) {
+                    var config = new HikariConfig();
+                    config.setPoolName("db-helper");
+                    config.setJdbcUrl(System.getProperty("db.url"));
+                    config.setUsername(USER);
+                    config.setPassword(PASSWORD);
+                    config.setMaximumPoolSize(Integer.getInteger("db.pool.size", 4));
+                    config.setMinimumIdle(1);
+                    config.setIdleTimeout(Duration.ofSeconds(30).toMillis());
+                    config.setMaxLifetime(Duration.ofMinutes(10).toMillis());
+                    config.setConnectionTimeout(Duration.ofSeconds(10).toMillis());
+                    config.setValidationTimeout(Duration.ofSeconds(2).toMillis());
+                    if (config.getJdbcUrl() != null && config.getJdbcUrl().startsWith("jdbc:mysql:")) {
+                        config.addDataSourceProperty("useCursorFetch", "true");
+                    }
+                    current = new HikariDataSource(config);
+                    dataSource = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    static Connection getConnection() throws SQLException {
+        return getDataSource().getConnection();
+    }
+
+    static QueryRunner runner() {
+        return new QueryRunner(getDataSource());
+    }
+
+    public static synchronized void shutdown() {
+        if (dataSource != null) {
+            dataSource.close();
+            dataSource = null;
+        }
+    }
+
+    public static boolean ping(String url) {
+        try (var connection = DriverManager.getConnection(url, USER, PASSWORD)) {
+            return connection.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    public static <T> RowCursor<T> openCursor(String sql, RowMapper<T> mapper, Object... params) throws SQLException {
+        return new RowCursor<>(getConnection(), sql, mapper, Integer.getInteger("db.fetchSize", 1000), params);
+    }
+
+    private static <T> T lookup(String sql, ResultSetHandler<T> handler, Object... params) throws SQLException {
+        var started = System.nanoTime();
+        try {
+            return runner().query(sql, handler, params);
+        } finally {
+            PhaseTimer.record(PhaseTimer.DB, System.nanoTime() - started);
+        }
     }
 
-    @SneakyThrows
     public static void databaseCleanUp() {
-        var deleteDataCredit = "DELETE FROM credit_request_entity;";
-        var deleteDataPayment = "DELETE FROM payment_entity;";
-        var deleteDataOrder = "DELETE FROM order_entity;";
-        setup();
-        var runner = new QueryRunner();
-        runner.execute(connection, deleteDataCredit, new ScalarHandler<>());
-        runner.execute(connection, deleteDataPayment, new ScalarHandler<>());
-        runner.execute(connection, deleteDataOrder, new ScalarHandler<>());
+        DbCleaner.truncateAll();
     }
 
 
@@ -42,12 +106,14 @@ public class DbHelper {
         private String transaction_id;
     }
 
+    public static Watermark markPayments() {
+        return Watermark.of("payment_entity");
+    }
+
     @SneakyThrows
-    public static PaymentEntity getPaymentInfo() {
-        setup();
-        var paymentInfo = "SELECT * FROM payment_entity WHERE created = (SELECT MAX(created) FROM payment_entity);";
-        var runner = new QueryRunner();
-        return runner.query(connection, paymentInfo, new BeanHandler<>(PaymentEntity.class));
+    public static List<PaymentEntity> getPaymentsAfter(Watermark mark) {
+        var paymentInfo = "SELECT * FROM payment_entity WHERE " + mark.filter("") + ";";
+        return lookup(paymentInfo, RowMappers.PAYMENT.list(), mark.params());
     }
 
     @Data
@@ -61,11 +127,15 @@ public class DbHelper {
     }
 
     @SneakyThrows
-    public static OrderEntity getOrderInfo() {
-        setup();
-        var orderInfo = "SELECT * FROM order_entity WHERE created = (SELECT MAX(created) FROM order_entity);";
-        var runner = new QueryRunner();
-        return runner.query(connection, orderInfo, new BeanHandler<>(OrderEntity.class));
+    public static List<OrderEntity> getOrdersByPaymentId(String paymentId) {
+        var orderInfo = "SELECT * FROM order_entity WHERE payment_id = ?;";
+        return lookup(orderInfo, RowMappers.ORDER.list(), paymentId);
+    }
+
+    @SneakyThrows
+    public static List<OrderEntity> getOrdersByCreditId(String creditId) {
+        var orderInfo = "SELECT * FROM order_entity WHERE credit_id = ?;";
+        return lookup(orderInfo, RowMappers.ORDER.list(), creditId);
     }
 
 
@@ -79,11 +149,13 @@ public class DbHelper {
         private String status;
     }
 
+    public static Watermark markCreditRequests() {
+        return Watermark.of("credit_request_entity");
+    }
+
     @SneakyThrows
-    public static CreditRequestEntity getCreditRequestInfo() {
-        setup();
-        var creditRequestInfo = "SELECT * FROM credit_request_entity WHERE created = (SELECT MAX(created) FROM credit_request_entity);";
-        var runner = new QueryRunner();
-        return runner.query(connection, creditRequestInfo, new BeanHandler<>(CreditRequestEntity.class));
+    public static List<CreditRequestEntity> getCreditRequestsAfter(Watermark mark) {
+        var creditRequestInfo = "SELECT * FROM credit_request_entity WHERE " + mark.filter("") + ";";
+        return lookup(creditRequestInfo, RowMappers.CREDIT_REQUEST.list(), mark.params());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package ru.netology.data;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+public class DbPoolExtension implements BeforeAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(DbPoolExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent("pool", key -> (ExtensionContext.Store.CloseableResource) DbHelper::shutdown);
+    }
+}
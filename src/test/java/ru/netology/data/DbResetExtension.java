@@ -0,0 +1,64 @@
+package ru.netology.data;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.lang.reflect.AnnotatedElement;
+
+public class DbResetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(DbResetExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (!writesPurchases(context)) {
+            return;
+        }
+        var strategy = DbCleaner.configuredStrategy();
+        if (strategy != DbCleaner.Strategy.NONE && Integer.getInteger("forks", 1) > 1 && !DatabaseClone.isEnabled()) {
+            throw new IllegalStateException("db.reset=" + strategy.name().toLowerCase() + " would delete rows of the other forks: set db.isolation=clone or run one fork");
+        }
+        switch (strategy) {
+            case TRUNCATE:
+                DbCleaner.truncateAll();
+                break;
+            case DELETE:
+                DbCleaner.deleteAll();
+                break;
+            case SCOPED:
+                context.getStore(NAMESPACE).put("marks", new Watermark[]{
+                        Watermark.of("order_entity"), Watermark.of("credit_request_entity"), Watermark.of("payment_entity")});
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        var marks = context.getStore(NAMESPACE).remove("marks", Watermark[].class);
+        if (marks != null) {
+            DbCleaner.deleteAfter(marks);
+        }
+    }
+
+    private static boolean writesPurchases(ExtensionContext context) {
+        if (context.getTestMethod().map(DbResetExtension::holdsPurchaseLock).orElse(false)) {
+            return true;
+        }
+        for (Class<?> type = context.getTestClass().orElse(null); type != null; type = type.getEnclosingClass()) {
+            if (holdsPurchaseLock(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean holdsPurchaseLock(AnnotatedElement element) {
+        return AnnotationSupport.findRepeatableAnnotations(element, ResourceLock.class).stream()
+                .anyMatch(lock -> DbHelper.PURCHASE_LOCK.equals(lock.value()));
+    }
+}
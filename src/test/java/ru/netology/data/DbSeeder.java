@@ -0,0 +1,223 @@
+package ru.netology.data;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+import lombok.Value;
+import org.postgresql.PGConnection;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+public class DbSeeder {
+
+    private static final String[] paymentColumns = {"id", "amount", "created", "status", "transaction_id"};
+    private static final String[] creditColumns = {"id", "bank_id", "created", "status"};
+    private static final String[] orderColumns = {"id", "created", "credit_id", "payment_id"};
+
+    public enum Mode {
+        BATCH,
+        BULK
+    }
+
+    public enum TimeDistribution {
+        UNIFORM,
+        RECENT
+    }
+
+    @Value
+    public static class Settings {
+        String url;
+        Mode mode;
+        long purchases;
+        double creditShare;
+        double declinedShare;
+        int amount;
+        Duration period;
+        TimeDistribution distribution;
+        int chunkSize;
+        int rowsPerStatement;
+        long seed;
+
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                    System.getProperty("db.url"),
+                    Mode.valueOf(System.getProperty("seed.mode", "batch").toUpperCase()),
+                    Long.getLong("seed.purchases", 1_000_000),
+                    Double.parseDouble(System.getProperty("seed.creditShare", "0.5")),
+                    Double.parseDouble(System.getProperty("seed.declinedShare", "0.5")),
+                    Integer.getInteger("seed.amount", 4_500_000),
+                    Duration.parse(System.getProperty("seed.period", "P30D")),
+                    TimeDistribution.valueOf(System.getProperty("seed.distribution", "uniform").toUpperCase()),
+                    Integer.getInteger("seed.chunk", 10_000),
+                    Integer.getInteger("seed.rowsPerStatement", 500),
+                    DataGenerator.seedFor("db-seeder")
+            );
+        }
+    }
+
+    private static class Chunk {
+        private final List<Object[]> payments = new ArrayList<>();
+        private final List<Object[]> credits = new ArrayList<>();
+        private final List<Object[]> orders = new ArrayList<>();
+
+        private int rows() {
+            return payments.size() + credits.size() + orders.size();
+        }
+    }
+
+    private final Settings settings;
+    private final Dialect dialect;
+    private final SplittableRandom random;
+    private final long now = System.currentTimeMillis();
+
+    public DbSeeder(Settings settings) {
+        this.settings = settings;
+        this.dialect = Dialect.fromUrl(settings.getUrl());
+        this.random = new SplittableRandom(settings.getSeed());
+    }
+
+    public static void main(String[] args) throws SQLException {
+        new DbSeeder(Settings.fromSystemProperties()).run();
+    }
+
+    public long run() throws SQLException {
+        var properties = new Properties();
+        properties.setProperty("user", DbHelper.USER);
+        properties.setProperty("password", DbHelper.PASSWORD);
+        properties.setProperty("allowLoadLocalInfile", "true");
+        try (var connection = DriverManager.getConnection(settings.getUrl(), properties)) {
+            connection.setAutoCommit(false);
+            var started = System.nanoTime();
+            long rows = 0;
+            for (long done = 0; done < settings.getPurchases(); done += settings.getChunkSize()) {
+                var chunk = generate((int) Math.min(settings.getChunkSize(), settings.getPurchases() - done));
+                write(connection, chunk);
+                connection.commit();
+                rows += chunk.rows();
+                var seconds = (System.nanoTime() - started) / 1e9;
+                System.out.printf("%d/%d purchases, %d rows, %.0f rows/s%n",
+                        Math.min(done + settings.getChunkSize(), settings.getPurchases()), settings.getPurchases(),
+                        rows, rows / seconds);
+            }
+            var seconds = (System.nanoTime() - started) / 1e9;
+            System.out.printf("Seeded %d rows into %s in %.1fs (%.0f rows/s, %s mode)%n",
+                    rows, dialect, seconds, rows / seconds, settings.getMode());
+            return rows;
+        }
+    }
+
+    private Chunk generate(int purchases) {
+        var chunk = new Chunk();
+        for (int i = 0; i < purchases; i++) {
+            var created = new Timestamp(createdAt());
+            var status = random.nextDouble() < settings.getDeclinedShare() ? "DECLINED" : "APPROVED";
+            var orderId = uuid();
+            if (random.nextDouble() < settings.getCreditShare()) {
+                var creditId = uuid();
+                chunk.credits.add(new Object[]{creditId, uuid(), created, status});
+                chunk.orders.add(new Object[]{orderId, created, creditId, null});
+            } else {
+                var transactionId = uuid();
+                chunk.payments.add(new Object[]{uuid(), settings.getAmount(), created, status, transactionId});
+                chunk.orders.add(new Object[]{orderId, created, null, transactionId});
+            }
+        }
+        return chunk;
+    }
+
+    private long createdAt() {
+        var span = settings.getPeriod().toMillis();
+        if (settings.getDistribution() == TimeDistribution.RECENT) {
+            var offset = (long) (-span / 5.0 * Math.log(1 - random.nextDouble()));
+            return now - Math.min(span, offset);
+        }
+        return now - random.nextLong(span);
+    }
+
+    private String uuid() {
+        var most = random.nextLong() & 0xffffffffffff0fffL | 0x0000000000004000L;
+        var least = random.nextLong() & 0x3fffffffffffffffL | 0x8000000000000000L;
+        return new UUID(most, least).toString();
+    }
+
+    private void write(Connection connection, Chunk chunk) throws SQLException {
+        if (settings.getMode() == Mode.BULK) {
+            load(connection, "payment_entity", paymentColumns, chunk.payments);
+            load(connection, "credit_request_entity", creditColumns, chunk.credits);
+            load(connection, "order_entity", orderColumns, chunk.orders);
+        } else {
+            insert(connection, "payment_entity", paymentColumns, chunk.payments);
+            insert(connection, "credit_request_entity", creditColumns, chunk.credits);
+            insert(connection, "order_entity", orderColumns, chunk.orders);
+        }
+    }
+
+    private void insert(Connection connection, String table, String[] columns, List<Object[]> rows) throws SQLException {
+        var placeholders = "(" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        for (int from = 0; from < rows.size(); from += settings.getRowsPerStatement()) {
+            var slice = rows.subList(from, Math.min(rows.size(), from + settings.getRowsPerStatement()));
+            var sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES "
+                    + String.join(", ", Collections.nCopies(slice.size(), placeholders));
+            try (var statement = connection.prepareStatement(sql)) {
+                var index = 1;
+                for (var row : slice) {
+                    for (var value : row) {
+                        if (value == null) {
+                            statement.setNull(index++, Types.VARCHAR);
+                        } else {
+                            statement.setObject(index++, value);
+                        }
+                    }
+                }
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private void load(Connection connection, String table, String[] columns, List<Object[]> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        var nullValue = dialect == Dialect.POSTGRESQL ? "" : "\\N";
+        var data = new StringBuilder(rows.size() * 128);
+        for (var row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    data.append(',');
+                }
+                data.append(row[i] == null ? nullValue : row[i]);
+            }
+            data.append('\n');
+        }
+        var columnList = String.join(", ", columns);
+        if (dialect == Dialect.POSTGRESQL) {
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn("COPY " + table + " (" + columnList + ") FROM STDIN WITH (FORMAT csv)",
+                                new StringReader(data.toString()));
+            } catch (IOException e) {
+                throw new SQLException("COPY into " + table + " failed", e);
+            }
+            return;
+        }
+        try (var statement = connection.createStatement()) {
+            statement.unwrap(JdbcStatement.class)
+                    .setLocalInfileInputStream(new ByteArrayInputStream(data.toString().getBytes(StandardCharsets.UTF_8)));
+            statement.execute("LOAD DATA LOCAL INFILE 'seed.csv' INTO TABLE " + table
+                    + " FIELDS TERMINATED BY ',' LINES TERMINATED BY '\\n' (" + columnList + ")");
+        }
+    }
+}
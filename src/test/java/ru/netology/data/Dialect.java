@@ -0,0 +1,20 @@
+package ru.netology.data;
+
+public enum Dialect {
+    MYSQL,
+    POSTGRESQL;
+
+    public static Dialect fromUrl(String url) {
+        if (url != null && url.startsWith("jdbc:mysql:")) {
+            return MYSQL;
+        }
+        if (url != null && url.startsWith("jdbc:postgresql:")) {
+            return POSTGRESQL;
+        }
+        throw new IllegalArgumentException("Unsupported db.url: " + url);
+    }
+
+    public static Dialect current() {
+        return fromUrl(System.getProperty("db.url"));
+    }
+}
@@ -0,0 +1,108 @@
+package ru.netology.data;
+
+import lombok.SneakyThrows;
+import org.apache.commons.dbutils.handlers.MapListHandler;
+import org.apache.commons.dbutils.handlers.ScalarHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PurchaseVerifier {
+
+    private static final String PAYMENTS = "SELECT status, COUNT(*) AS total, " +
+            "SUM(CASE WHEN orders = 0 THEN 1 ELSE 0 END) AS missing, SUM(CASE WHEN orders > 1 THEN 1 ELSE 0 END) AS duplicated " +
+            "FROM (SELECT p.id, p.status, COUNT(o.id) AS orders " +
+            "FROM payment_entity p LEFT JOIN order_entity o ON o.payment_id = p.transaction_id " +
+            "WHERE %s GROUP BY p.id, p.status) per_payment GROUP BY status;";
+    private static final String CREDITS = "SELECT status, COUNT(*) AS total, " +
+            "SUM(CASE WHEN orders = 0 THEN 1 ELSE 0 END) AS missing, SUM(CASE WHEN orders > 1 THEN 1 ELSE 0 END) AS duplicated " +
+            "FROM (SELECT c.id, c.status, COUNT(o.id) AS orders " +
+            "FROM credit_request_entity c LEFT JOIN order_entity o ON o.credit_id = c.id " +
+            "WHERE %s GROUP BY c.id, c.status) per_credit GROUP BY status;";
+    private static final String ORPHAN_ORDERS = "SELECT COUNT(*) FROM order_entity o " +
+            "LEFT JOIN payment_entity p ON p.transaction_id = o.payment_id " +
+            "LEFT JOIN credit_request_entity c ON c.id = o.credit_id " +
+            "WHERE %s AND p.id IS NULL AND c.id IS NULL;";
+
+    private final Watermark payments;
+    private final Watermark credits;
+    private final Watermark orders;
+    private final Map<String, LongAdder> expectedPayments = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> expectedCredits = new ConcurrentHashMap<>();
+
+    private PurchaseVerifier(Watermark payments, Watermark credits, Watermark orders) {
+        this.payments = payments;
+        this.credits = credits;
+        this.orders = orders;
+    }
+
+    public static PurchaseVerifier startBatch() {
+        return after(Watermark.of("payment_entity"), Watermark.of("credit_request_entity"), Watermark.of("order_entity"));
+    }
+
+    public static PurchaseVerifier after(Watermark payments, Watermark credits, Watermark orders) {
+        return new PurchaseVerifier(payments, credits, orders);
+    }
+
+    public void expectPayment(String status) {
+        expectedPayments.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    public void expectCredit(String status) {
+        expectedCredits.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    @SneakyThrows
+    public List<String> verify() {
+        var runner = DbHelper.runner();
+        var mismatches = new ArrayList<String>();
+        compare("payment_entity", expectedPayments,
+                runner.query(String.format(PAYMENTS, payments.filter("p")), new MapListHandler(), payments.params()), mismatches);
+        compare("credit_request_entity", expectedCredits,
+                runner.query(String.format(CREDITS, credits.filter("c")), new MapListHandler(), credits.params()), mismatches);
+        var orphanOrders = runner.query(String.format(ORPHAN_ORDERS, orders.filter("o")), new ScalarHandler<Number>(), orders.params()).longValue();
+        if (orphanOrders > 0) {
+            mismatches.add("order_entity: " + orphanOrders + " orders without payment or credit request");
+        }
+        return mismatches;
+    }
+
+    public void assertConsistent() {
+        var mismatches = verify();
+        if (!mismatches.isEmpty()) {
+            throw new AssertionError("DB state does not match the batch submitted after " + payments.getCreated() + ":"
+                    + System.lineSeparator() + String.join(System.lineSeparator(), mismatches));
+        }
+    }
+
+    private static void compare(String table, Map<String, LongAdder> expected, List<Map<String, Object>> rows,
+                                List<String> mismatches) {
+        var actual = new TreeMap<String, Long>();
+        for (var row : rows) {
+            var status = String.valueOf(row.get("status"));
+            var total = ((Number) row.get("total")).longValue();
+            var missing = ((Number) row.get("missing")).longValue();
+            var duplicated = ((Number) row.get("duplicated")).longValue();
+            actual.put(status, total);
+            if (missing > 0) {
+                mismatches.add(table + ": " + missing + " " + status + " rows without order_entity");
+            }
+            if (duplicated > 0) {
+                mismatches.add(table + ": " + duplicated + " " + status + " rows with more than one order_entity");
+            }
+        }
+        var statuses = new TreeMap<String, Long>();
+        expected.forEach((status, count) -> statuses.put(status, count.sum()));
+        actual.keySet().forEach(status -> statuses.putIfAbsent(status, 0L));
+        statuses.forEach((status, count) -> {
+            var found = actual.getOrDefault(status, 0L);
+            if (found.longValue() != count.longValue()) {
+                mismatches.add(table + ": expected " + count + " " + status + " rows, found " + found);
+            }
+        });
+    }
+}
@@ -0,0 +1,469 @@
+package ru.netology.data;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import lombok.Value;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+public class Reconciler {
+
+    private static final String PAYMENTS = "SELECT COALESCE(p.transaction_id, '') AS gate_id, p.status AS status, COUNT(o.id) AS orders " +
+            "FROM payment_entity p LEFT JOIN order_entity o ON o.payment_id = p.transaction_id " +
+            "WHERE p.created >= ? AND p.created < ? " +
+            "GROUP BY p.id, p.transaction_id, p.status ORDER BY %s";
+    private static final String CREDITS = "SELECT COALESCE(c.bank_id, '') AS gate_id, c.status AS status, COUNT(o.id) AS orders " +
+            "FROM credit_request_entity c LEFT JOIN order_entity o ON o.credit_id = c.id " +
+            "WHERE c.created >= ? AND c.created < ? " +
+            "GROUP BY c.id, c.bank_id, c.status ORDER BY %s";
+    private static final String ORPHAN_ORDERS = "SELECT o.id AS id FROM order_entity o " +
+            "LEFT JOIN payment_entity p ON p.transaction_id = o.payment_id " +
+            "LEFT JOIN credit_request_entity c ON c.id = o.credit_id " +
+            "WHERE p.id IS NULL AND c.id IS NULL AND o.created >= ? AND o.created < ? ORDER BY o.id";
+
+    private static final RowMapper<Row> ROW = resultSet -> new Row(
+            resultSet.getString("gate_id"),
+            resultSet.getString("status"),
+            resultSet.getLong("orders"));
+
+    public enum Kind {
+        PAYMENT("/payment", PAYMENTS, "p.transaction_id"),
+        CREDIT("/credit", CREDITS, "c.bank_id");
+
+        private final String endpoint;
+        private final String sql;
+        private final String key;
+
+        Kind(String endpoint, String sql, String key) {
+            this.endpoint = endpoint;
+            this.sql = sql;
+            this.key = key;
+        }
+
+        private String query(Dialect dialect) {
+            var key = "COALESCE(" + this.key + ", '')";
+            return String.format(sql, dialect == Dialect.POSTGRESQL ? key + " COLLATE \"C\"" : "CAST(" + key + " AS BINARY)");
+        }
+
+        private static Kind fromEndpoint(String endpoint) {
+            for (Kind kind : values()) {
+                if (kind.endpoint.equals(endpoint)) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    public enum Issue {
+        MISSING,
+        DUPLICATED,
+        ORPHANED,
+        STATUS_MISMATCH
+    }
+
+    @Value
+    static class Decision {
+        String id;
+        String status;
+    }
+
+    @Value
+    static class Window {
+        Instant since;
+        Instant until;
+
+        static Window fromSystemProperties() {
+            return new Window(instant(System.getProperty("reconcile.since"), Instant.EPOCH),
+                    instant(System.getProperty("reconcile.until"), Instant.parse("9999-12-31T00:00:00Z")));
+        }
+
+        private static Instant instant(String value, Instant fallback) {
+            if (value == null || value.isBlank()) {
+                return fallback;
+            }
+            return value.startsWith("P") ? Instant.now().minus(Duration.parse(value)) : Instant.parse(value);
+        }
+
+        boolean contains(long epochMillis) {
+            return epochMillis >= since.toEpochMilli() && epochMillis < until.toEpochMilli();
+        }
+
+        private Object[] bounds() {
+            return new Object[]{Timestamp.from(since), Timestamp.from(until)};
+        }
+    }
+
+    @Value
+    static class Row {
+        String id;
+        String status;
+        long orders;
+    }
+
+    public static class Report {
+        private final int sampleSize;
+        private final Map<Kind, Long> matched = new EnumMap<>(Kind.class);
+        private final Map<Issue, Long> counts = new EnumMap<>(Issue.class);
+        private final Map<Issue, List<String>> samples = new EnumMap<>(Issue.class);
+        private long orphanOrders;
+
+        Report(int sampleSize) {
+            this.sampleSize = sampleSize;
+            for (Issue issue : Issue.values()) {
+                counts.put(issue, 0L);
+                samples.put(issue, new ArrayList<>());
+            }
+            for (Kind kind : Kind.values()) {
+                matched.put(kind, 0L);
+            }
+        }
+
+        private void matched(Kind kind) {
+            matched.merge(kind, 1L, Long::sum);
+        }
+
+        private void add(Issue issue, Object subject, String id, String detail) {
+            counts.merge(issue, 1L, Long::sum);
+            var sample = samples.get(issue);
+            if (sample.size() < sampleSize) {
+                sample.add(subject + " " + id + ": " + detail);
+            }
+        }
+
+        public long getMatched(Kind kind) {
+            return matched.get(kind);
+        }
+
+        public long getCount(Issue issue) {
+            return counts.get(issue);
+        }
+
+        public List<String> getSamples(Issue issue) {
+            return List.copyOf(samples.get(issue));
+        }
+
+        public long getOrphanOrders() {
+            return orphanOrders;
+        }
+
+        public boolean isConsistent() {
+            return counts.values().stream().allMatch(count -> count == 0);
+        }
+
+        @Override
+        public String toString() {
+            var result = new StringBuilder("Reconciliation: matched payments=").append(matched.get(Kind.PAYMENT))
+                    .append(", credits=").append(matched.get(Kind.CREDIT))
+                    .append(", orphan orders=").append(orphanOrders);
+            for (Issue issue : Issue.values()) {
+                result.append(System.lineSeparator()).append(issue).append(": ").append(counts.get(issue));
+                for (String sample : samples.get(issue)) {
+                    result.append(System.lineSeparator()).append("  ").append(sample);
+                }
+            }
+            return result.toString();
+        }
+    }
+
+    private Reconciler() {
+    }
+
+    public static Report reconcile(Path decisionLog, Window window) throws IOException, SQLException {
+        var dialect = Dialect.current();
+        var report = new Report(Integer.getInteger("reconcile.samples", 20));
+        var sorters = new EnumMap<Kind, ExternalSorter>(Kind.class);
+        try {
+            for (Kind kind : Kind.values()) {
+                sorters.put(kind, new ExternalSorter(Integer.getInteger("reconcile.chunk", 500_000)));
+            }
+            try (var reader = Files.newBufferedReader(decisionLog, StandardCharsets.UTF_8)) {
+                split(reader, window, sorters);
+            }
+            for (Kind kind : Kind.values()) {
+                try (var decisions = sorters.get(kind).sorted();
+                     var rows = DbHelper.openCursor(kind.query(dialect), ROW, window.bounds())) {
+                    merge(kind, decisions, rows, report);
+                }
+            }
+        } finally {
+            for (ExternalSorter sorter : sorters.values()) {
+                sorter.close();
+            }
+        }
+        try (var orders = DbHelper.openCursor(ORPHAN_ORDERS, resultSet -> resultSet.getString("id"), window.bounds())) {
+            while (orders.hasNext()) {
+                var id = orders.next();
+                report.orphanOrders++;
+                report.add(Issue.ORPHANED, "ORDER", id, "references neither a payment nor a credit request");
+            }
+        }
+        return report;
+    }
+
+    static void split(BufferedReader reader, Window window, Map<Kind, ExternalSorter> sorters) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonElement element;
+            try {
+                element = JsonParser.parseString(line);
+            } catch (JsonParseException e) {
+                throw new IOException("Malformed decision: " + line, e);
+            }
+            if (!element.isJsonObject()) {
+                throw new IOException("Malformed decision: " + line);
+            }
+            var json = element.getAsJsonObject();
+            var time = field(json, "time", line);
+            if (!time.getAsJsonPrimitive().isNumber()) {
+                throw new IOException("Malformed decision, time is not a number: " + line);
+            }
+            if (!window.contains(time.getAsLong())) {
+                continue;
+            }
+            var kind = Kind.fromEndpoint(field(json, "endpoint", line).getAsString());
+            if (kind != null) {
+                sorters.get(kind).add(new Decision(field(json, "id", line).getAsString(), field(json, "status", line).getAsString()));
+            }
+        }
+    }
+
+    private static JsonElement field(JsonObject json, String name, String line) throws IOException {
+        var value = json.get(name);
+        if (value == null || !value.isJsonPrimitive()) {
+            throw new IOException("Malformed decision, no " + name + ": " + line);
+        }
+        return value;
+    }
+
+    static void merge(Kind kind, Iterator<Decision> decisionIterator, Iterator<Row> rowIterator, Report report) {
+        var decisions = new Peeking<>(decisionIterator);
+        var rows = new Peeking<>(rowIterator);
+        while (decisions.hasNext() || rows.hasNext()) {
+            int order;
+            if (!decisions.hasNext()) {
+                order = 1;
+            } else if (!rows.hasNext()) {
+                order = -1;
+            } else {
+                order = decisions.peek().getId().compareTo(rows.peek().getId());
+            }
+            var id = order <= 0 ? decisions.peek().getId() : rows.peek().getId();
+            Decision decision = null;
+            long decided = 0;
+            while (decisions.hasNext() && decisions.peek().getId().equals(id)) {
+                decision = decisions.next();
+                decided++;
+            }
+            Row row = null;
+            long stored = 0;
+            while (rows.hasNext() && rows.peek().getId().equals(id)) {
+                row = rows.next();
+                stored++;
+            }
+            if (decided > 1) {
+                report.add(Issue.DUPLICATED, kind, id, decided + " gate decisions");
+            }
+            if (stored > 1) {
+                report.add(Issue.DUPLICATED, kind, id, stored + " rows");
+            }
+            if (row == null) {
+                report.add(Issue.MISSING, kind, id, "gate decided " + decision.getStatus() + ", nothing stored");
+                continue;
+            }
+            if (decision == null) {
+                report.add(Issue.ORPHANED, kind, id, "stored " + row.getStatus() + " without a gate decision");
+                continue;
+            }
+            if (row.getOrders() == 0) {
+                report.add(Issue.ORPHANED, kind, id, "no order references it");
+            } else if (row.getOrders() > 1) {
+                report.add(Issue.DUPLICATED, kind, id, row.getOrders() + " orders");
+            }
+            if (!decision.getStatus().equals(row.getStatus())) {
+                report.add(Issue.STATUS_MISMATCH, kind, id, "gate " + decision.getStatus() + ", stored " + row.getStatus());
+            } else if (decided == 1 && stored == 1 && row.getOrders() == 1) {
+                report.matched(kind);
+            }
+        }
+    }
+
+    private static class Peeking<T> {
+        private final Iterator<T> iterator;
+        private T next;
+
+        private Peeking(Iterator<T> iterator) {
+            this.iterator = iterator;
+        }
+
+        private boolean hasNext() {
+            return next != null || iterator.hasNext();
+        }
+
+        private T peek() {
+            if (next == null) {
+                next = iterator.next();
+            }
+            return next;
+        }
+
+        private T next() {
+            var result = peek();
+            next = null;
+            return result;
+        }
+    }
+
+    static class ExternalSorter implements AutoCloseable {
+        private final int chunkSize;
+        private final List<Decision> buffer = new ArrayList<>();
+        private final List<Path> runs = new ArrayList<>();
+
+        ExternalSorter(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        void add(Decision decision) throws IOException {
+            buffer.add(decision);
+            if (buffer.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            buffer.sort(Comparator.comparing(Decision::getId));
+            var run = Files.createTempFile("decisions-", ".run");
+            runs.add(run);
+            try (BufferedWriter writer = Files.newBufferedWriter(run, StandardCharsets.UTF_8)) {
+                for (Decision decision : buffer) {
+                    writer.write(decision.getId());
+                    writer.write('\t');
+                    writer.write(decision.getStatus());
+                    writer.newLine();
+                }
+            }
+            buffer.clear();
+        }
+
+        RunMerger sorted() throws IOException {
+            flush();
+            return new RunMerger(runs);
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    static class RunMerger implements Iterator<Decision>, AutoCloseable {
+        private final List<BufferedReader> readers = new ArrayList<>();
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(head -> head.decision.getId()));
+
+        private static class Head {
+            private final BufferedReader reader;
+            private Decision decision;
+
+            private Head(BufferedReader reader) {
+                this.reader = reader;
+            }
+
+            private boolean advance() throws IOException {
+                var line = reader.readLine();
+                if (line == null) {
+                    return false;
+                }
+                var tab = line.indexOf('\t');
+                decision = new Decision(line.substring(0, tab), line.substring(tab + 1));
+                return true;
+            }
+        }
+
+        private RunMerger(List<Path> runs) throws IOException {
+            try {
+                for (Path run : runs) {
+                    var reader = Files.newBufferedReader(run, StandardCharsets.UTF_8);
+                    readers.add(reader);
+                    var head = new Head(reader);
+                    if (head.advance()) {
+                        heads.add(head);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Decision next() {
+            var head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            var result = head.decision;
+            try {
+                if (head.advance()) {
+                    heads.add(head);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return result;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (BufferedReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        var decisionLog = Paths.get(System.getProperty("reconcile.log", "build/gate/decisions.ndjson"));
+        try {
+            var report = reconcile(decisionLog, Window.fromSystemProperties());
+            System.out.println(report);
+            if (!report.isConsistent() && !Boolean.getBoolean("reconcile.lenient")) {
+                System.exit(1);
+            }
+        } finally {
+            DbHelper.shutdown();
+        }
+    }
+}
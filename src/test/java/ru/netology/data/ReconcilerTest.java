@@ -0,0 +1,134 @@
+package ru.netology.data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.netology.data.Reconciler.Decision;
+import ru.netology.data.Reconciler.ExternalSorter;
+import ru.netology.data.Reconciler.Issue;
+import ru.netology.data.Reconciler.Kind;
+import ru.netology.data.Reconciler.Report;
+import ru.netology.data.Reconciler.Row;
+import ru.netology.data.Reconciler.Window;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+public class ReconcilerTest {
+
+    private static final Window ALWAYS = new Window(Instant.EPOCH, Instant.parse("9999-12-31T00:00:00Z"));
+
+    private static Report merge(List<Decision> decisions, List<Row> rows) throws IOException {
+        var report = new Report(10);
+        try (var sorter = new ExternalSorter(2)) {
+            for (Decision decision : decisions) {
+                sorter.add(decision);
+            }
+            try (var sorted = sorter.sorted()) {
+                Reconciler.merge(Kind.PAYMENT, sorted, rows.iterator(), report);
+            }
+        }
+        return report;
+    }
+
+    private static List<Row> byteOrdered(Row... rows) {
+        var sorted = new ArrayList<>(List.of(rows));
+        sorted.sort((left, right) -> Arrays.compare(left.getId().getBytes(StandardCharsets.UTF_8), right.getId().getBytes(StandardCharsets.UTF_8)));
+        return sorted;
+    }
+
+    @Test
+    @DisplayName("Decisions sorted in several runs meet byte-ordered rows in one pass")
+    public void shouldMatchAcrossRunsInByteOrder() throws IOException {
+        var ids = List.of("b7", "B7", "a-1", "a1", "A1", "a_1", "0f", "f0", "-");
+        var decisions = new ArrayList<Decision>();
+        var rows = new ArrayList<Row>();
+        for (String id : ids) {
+            decisions.add(new Decision(id, "APPROVED"));
+            rows.add(new Row(id, "APPROVED", 1));
+        }
+        var report = merge(decisions, byteOrdered(rows.toArray(Row[]::new)));
+        assertTrue(report.isConsistent(), report.toString());
+        assertEquals(ids.size(), report.getMatched(Kind.PAYMENT));
+    }
+
+    @Test
+    @DisplayName("Repeated decisions, rows and orders are reported as duplicates")
+    public void shouldReportDuplicates() throws IOException {
+        var report = merge(
+                List.of(new Decision("a", "APPROVED"), new Decision("a", "APPROVED"), new Decision("b", "APPROVED"), new Decision("c", "DECLINED")),
+                byteOrdered(new Row("a", "APPROVED", 1), new Row("b", "APPROVED", 1), new Row("b", "APPROVED", 1), new Row("c", "DECLINED", 2)));
+        assertEquals(3, report.getCount(Issue.DUPLICATED), report.toString());
+        assertEquals(0, report.getMatched(Kind.PAYMENT));
+    }
+
+    @Test
+    @DisplayName("A decision without a row is missing, a row without a decision is orphaned")
+    public void shouldReportMissingAndExtra() throws IOException {
+        var report = merge(
+                List.of(new Decision("a", "APPROVED"), new Decision("b", "DECLINED")),
+                byteOrdered(new Row("b", "DECLINED", 1), new Row("c", "APPROVED", 1), new Row("d", "APPROVED", 0)));
+        assertEquals(1, report.getCount(Issue.MISSING), report.toString());
+        assertEquals(2, report.getCount(Issue.ORPHANED), report.toString());
+        assertEquals(1, report.getMatched(Kind.PAYMENT));
+        assertTrue(report.getSamples(Issue.MISSING).get(0).contains(" a: "));
+    }
+
+    @Test
+    @DisplayName("A stored status that differs from the gate decision is a mismatch")
+    public void shouldReportStatusMismatch() throws IOException {
+        var report = merge(
+                List.of(new Decision("a", "DECLINED"), new Decision("b", "APPROVED")),
+                byteOrdered(new Row("a", "APPROVED", 1), new Row("b", "APPROVED", 1)));
+        assertEquals(1, report.getCount(Issue.STATUS_MISMATCH), report.toString());
+        assertEquals(1, report.getMatched(Kind.PAYMENT));
+    }
+
+    @Test
+    @DisplayName("Only decisions inside the run window are reconciled")
+    public void shouldSkipDecisionsOutsideWindow() throws IOException {
+        var log = "{\"id\":\"old\",\"endpoint\":\"/payment\",\"status\":\"APPROVED\",\"time\":1000}\n" +
+                "\n" +
+                "{\"id\":\"new\",\"endpoint\":\"/payment\",\"status\":\"APPROVED\",\"time\":5000}\n" +
+                "{\"id\":\"late\",\"endpoint\":\"/credit\",\"status\":\"APPROVED\",\"time\":9000}\n";
+        var window = new Window(Instant.ofEpochMilli(2000), Instant.ofEpochMilli(9000));
+        Map<Kind, ExternalSorter> sorters = new EnumMap<>(Kind.class);
+        try (var payments = new ExternalSorter(10); var credits = new ExternalSorter(10)) {
+            sorters.put(Kind.PAYMENT, payments);
+            sorters.put(Kind.CREDIT, credits);
+            Reconciler.split(new BufferedReader(new StringReader(log)), window, sorters);
+            try (var sortedPayments = payments.sorted(); var sortedCredits = credits.sorted()) {
+                assertEquals("new", sortedPayments.next().getId());
+                assertFalse(sortedPayments.hasNext());
+                assertFalse(sortedCredits.hasNext());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A decision without a required field is rejected")
+    public void shouldRejectIncompleteDecision() throws IOException {
+        Map<Kind, ExternalSorter> sorters = new EnumMap<>(Kind.class);
+        try (var payments = new ExternalSorter(10); var credits = new ExternalSorter(10)) {
+            sorters.put(Kind.PAYMENT, payments);
+            sorters.put(Kind.CREDIT, credits);
+            for (String line : List.of("{\"endpoint\":\"/payment\",\"status\":\"APPROVED\",\"time\":1}",
+                    "{\"id\":\"a\",\"endpoint\":\"/payment\",\"status\":null,\"time\":1}",
+                    "{\"id\":\"a\",\"endpoint\":\"/payment\",\"status\":\"APPROVED\"}",
+                    "[1, 2]")) {
+                assertThrows(IOException.class, () -> Reconciler.split(new BufferedReader(new StringReader(line)), ALWAYS, sorters), line);
+            }
+        }
+    }
+}
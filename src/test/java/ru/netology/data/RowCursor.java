@@ -0,0 +1,66 @@
+package ru.netology.data;
+
+import lombok.SneakyThrows;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class RowCursor<T> implements Iterator<T>, AutoCloseable {
+
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+    private final RowMapper<T> mapper;
+    private Boolean hasNext;
+
+    RowCursor(Connection connection, String sql, RowMapper<T> mapper, int fetchSize, Object... params) throws SQLException {
+        this.connection = connection;
+        this.mapper = mapper;
+        try {
+            connection.setAutoCommit(false);
+            statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            resultSet = statement.executeQuery();
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    @Override
+    @SneakyThrows
+    public boolean hasNext() {
+        if (hasNext == null) {
+            hasNext = resultSet.next();
+        }
+        return hasNext;
+    }
+
+    @Override
+    @SneakyThrows
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        hasNext = null;
+        return mapper.map(resultSet);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try (connection) {
+            try (statement) {
+                resultSet.close();
+            }
+            connection.rollback();
+            connection.setAutoCommit(true);
+        }
+    }
+}
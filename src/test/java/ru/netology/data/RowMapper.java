@@ -0,0 +1,28 @@
+package ru.netology.data;
+
+import org.apache.commons.dbutils.ResultSetHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    T map(ResultSet resultSet) throws SQLException;
+
+    default ResultSetHandler<T> first() {
+        return resultSet -> resultSet.next() ? map(resultSet) : null;
+    }
+
+    default ResultSetHandler<List<T>> list() {
+        return resultSet -> {
+            var rows = new ArrayList<T>();
+            while (resultSet.next()) {
+                rows.add(map(resultSet));
+            }
+            return rows;
+        };
+    }
+}
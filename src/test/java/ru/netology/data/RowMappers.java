@@ -0,0 +1,26 @@
+package ru.netology.data;
+
+public class RowMappers {
+
+    public static final RowMapper<DbHelper.PaymentEntity> PAYMENT = resultSet -> new DbHelper.PaymentEntity(
+            resultSet.getString("id"),
+            resultSet.getInt("amount"),
+            resultSet.getTimestamp("created"),
+            resultSet.getString("status"),
+            resultSet.getString("transaction_id"));
+
+    public static final RowMapper<DbHelper.OrderEntity> ORDER = resultSet -> new DbHelper.OrderEntity(
+            resultSet.getString("id"),
+            resultSet.getTimestamp("created"),
+            resultSet.getString("credit_id"),
+            resultSet.getString("payment_id"));
+
+    public static final RowMapper<DbHelper.CreditRequestEntity> CREDIT_REQUEST = resultSet -> new DbHelper.CreditRequestEntity(
+            resultSet.getString("id"),
+            resultSet.getString("bank_id"),
+            resultSet.getTimestamp("created"),
+            resultSet.getString("status"));
+
+    private RowMappers() {
+    }
+}
@@ -0,0 +1,20 @@
+package ru.netology.data;
+
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+
+public class SeedExtension implements BeforeEachCallback, TestWatcher {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        DataGenerator.reseed(DataGenerator.seedFor(context.getUniqueId()));
+    }
+
+    @Override
+    public void testFailed(ExtensionContext context, Throwable cause) {
+        Allure.addAttachment("Test data seed", "text/plain", String.format("Test data seed %d, replay it with -Ddata.seed=%d",
+                DataGenerator.seedFor(context.getUniqueId()), DataGenerator.getBaseSeed()));
+    }
+}
@@ -0,0 +1,55 @@
+package ru.netology.data;
+
+import lombok.SneakyThrows;
+import lombok.Value;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Value
+public class Watermark {
+
+    private static final Timestamp EMPTY_TABLE = new Timestamp(0);
+
+    String table;
+    Timestamp created;
+    List<String> ids;
+
+    public static Watermark origin(String table) {
+        return new Watermark(table, EMPTY_TABLE, List.of());
+    }
+
+    @SneakyThrows
+    public static Watermark of(String table) {
+        var sql = "SELECT id, created FROM " + table + " WHERE created = (SELECT MAX(created) FROM " + table + ");";
+        return DbHelper.runner().query(sql, resultSet -> {
+            Timestamp created = EMPTY_TABLE;
+            var ids = new ArrayList<String>();
+            while (resultSet.next()) {
+                created = resultSet.getTimestamp("created");
+                ids.add(resultSet.getString("id"));
+            }
+            return new Watermark(table, created, List.copyOf(ids));
+        });
+    }
+
+    public String filter(String alias) {
+        var prefix = alias.isEmpty() ? "" : alias + ".";
+        var condition = prefix + "created >= ?";
+        if (ids.isEmpty()) {
+            return condition;
+        }
+        return condition + " AND " + prefix + "id NOT IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+    }
+
+    public Object[] params() {
+        var params = new Object[ids.size() + 1];
+        params[0] = created;
+        for (int i = 0; i < ids.size(); i++) {
+            params[i + 1] = ids.get(i);
+        }
+        return params;
+    }
+}
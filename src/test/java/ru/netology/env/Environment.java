@@ -0,0 +1,229 @@
+package ru.netology.env;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import ru.netology.data.DatabaseClone;
+import ru.netology.data.DbHelper;
+import ru.netology.data.Dialect;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+public class Environment implements ExtensionContext.Store.CloseableResource {
+
+    private static final String GATE = "gate-simulator";
+    private static final String PROBE_CARD = "0000 0000 0000 0000";
+    private static final Gson gson = new Gson();
+
+    private final boolean shared = DatabaseClone.isEnabled() || Integer.getInteger("forks", 1) > 1;
+    private final boolean reuse = shared || Boolean.getBoolean("env.reuse");
+    private final Duration timeout = Duration.parse(System.getProperty("env.timeout", "PT3M"));
+    private final List<String> compose = List.of(System.getProperty("env.compose", "docker compose").split(" "));
+    private final Path composeFile = Paths.get(System.getProperty("env.composeFile", "docker-compose.yml")).toAbsolutePath();
+    private final Path log = Paths.get("build", "compose.log").toAbsolutePath();
+    private final String dbUrl = System.getProperty("db.url");
+    private final URI sutUrl = SutExtension.requestedUrl();
+    private final URI gateUrl = URI.create(System.getProperty("env.gate.url", "http://localhost:9999"));
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private final Map<String, Duration> readiness = new ConcurrentHashMap<>();
+    private final List<String> started = new ArrayList<>();
+    private DatabaseClone clone;
+    private SutProcess sut;
+
+    private Environment() {
+    }
+
+    public static boolean isManaged() {
+        return Boolean.getBoolean("env.managed");
+    }
+
+    public static Environment start(Path jar, Map<String, String> sutProperties) throws Exception {
+        var environment = new Environment();
+        try {
+            environment.up(jar, sutProperties);
+        } catch (Exception e) {
+            environment.close();
+            throw e;
+        }
+        return environment;
+    }
+
+    private void up(Path jar, Map<String, String> sutProperties) throws Exception {
+        var begin = System.nanoTime();
+        var deadline = begin + timeout.toNanos();
+        var db = Dialect.current() == Dialect.MYSQL ? "mysql" : "postgresql";
+        var probes = new LinkedHashMap<String, BooleanSupplier>();
+        probes.put(db, () -> DbHelper.ping(dbUrl));
+        if (!GateExtension.isEmbedded()) {
+            probes.put(GATE, this::isGateReady);
+        }
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var healthy = probes.entrySet().stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey,
+                            entry -> CompletableFuture.supplyAsync(entry.getValue()::getAsBoolean, executor)));
+            var sutRunning = DatabaseClone.isEnabled() ? CompletableFuture.completedFuture(false) : CompletableFuture.supplyAsync(this::isSutReady, executor);
+            var down = new ArrayList<String>();
+            for (String service : probes.keySet()) {
+                if (healthy.get(service).get()) {
+                    readiness.put(service, Duration.ZERO);
+                } else {
+                    down.add(service);
+                }
+            }
+            if (!down.isEmpty()) {
+                var command = new ArrayList<>(List.of("up", "-d"));
+                command.addAll(down);
+                started.addAll(down);
+                try {
+                    compose(command);
+                } catch (IllegalStateException e) {
+                    if (!shared) {
+                        throw e;
+                    }
+                    // another worker is starting the same containers, the probes below wait for them
+                }
+            }
+            var waits = new HashMap<String, CompletableFuture<Void>>();
+            for (String service : down) {
+                waits.put(service, CompletableFuture.runAsync(() -> await(service, probes.get(service), begin, deadline), executor));
+            }
+            var ready = new ArrayList<>(waits.values());
+            if (sutRunning.get()) {
+                if (GateExtension.isEmbedded()) {
+                    throw new IllegalStateException("SUT on " + sutUrl + " was not started against the embedded gate: stop it or set db.isolation=clone");
+                }
+                readiness.put("sut", Duration.ZERO);
+            } else {
+                ready.add(waits.getOrDefault(db, CompletableFuture.completedFuture(null))
+                        .thenRunAsync(() -> startSut(jar, sutProperties, begin, deadline), executor));
+            }
+            try {
+                CompletableFuture.allOf(ready.toArray(CompletableFuture[]::new)).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                var cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null ? e.getCause().getCause() : e.getCause();
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+        }
+        System.out.printf("Environment ready in %.1f s: %s%n", (System.nanoTime() - begin) / 1e9,
+                readiness.entrySet().stream()
+                        .map(entry -> entry.getKey() + (entry.getValue().isZero() ? " reused" : String.format(" %.1f s", entry.getValue().toMillis() / 1000.0)))
+                        .collect(Collectors.joining(", ")));
+    }
+
+    public URI getSutUrl() {
+        return sut == null ? sutUrl : sut.getUrl();
+    }
+
+    @SneakyThrows
+    private void startSut(Path jar, Map<String, String> properties, long begin, long deadline) {
+        if (DatabaseClone.isEnabled()) {
+            clone = SutExtension.cloneDatabase();
+        } else if (shared) {
+            throw new IllegalStateException("SUT is not running on " + sutUrl + " and every fork would start one: set db.isolation=clone or start it first");
+        }
+        sut = SutProcess.start(jar, sutUrl, System.getProperty("db.url"), properties);
+        sut.awaitReady(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+        readiness.put("sut", Duration.ofNanos(System.nanoTime() - begin));
+    }
+
+    @SneakyThrows
+    private void await(String service, BooleanSupplier probe, long begin, long deadline) {
+        while (!probe.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(service + " is not healthy within " + timeout + ", see " + log);
+            }
+            TimeUnit.MILLISECONDS.sleep(250);
+        }
+        readiness.put(service, Duration.ofNanos(System.nanoTime() - begin));
+    }
+
+    private boolean isSutReady() {
+        try {
+            var request = HttpRequest.newBuilder(sutUrl).timeout(Duration.ofSeconds(1)).GET().build();
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean isGateReady() {
+        try {
+            var body = new JsonObject();
+            body.addProperty("number", PROBE_CARD);
+            var request = HttpRequest.newBuilder(gateUrl.resolve(GateStub.PAYMENT))
+                    .timeout(Duration.ofSeconds(1))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(body)))
+                    .build();
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void compose(List<String> args) throws IOException, InterruptedException {
+        Files.createDirectories(log.getParent());
+        var command = new ArrayList<>(compose);
+        command.add("-f");
+        command.add(composeFile.toString());
+        command.addAll(args);
+        var process = new ProcessBuilder(command)
+                .directory(composeFile.getParent().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()))
+                .start();
+        if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException(String.join(" ", command) + " timed out, see " + log);
+        }
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException(String.join(" ", command) + " exited with code " + process.exitValue() + ", see " + log);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            if (sut != null) {
+                sut.close();
+            }
+            if (clone != null) {
+                clone.close();
+            }
+        } finally {
+            if (!reuse && !started.isEmpty()) {
+                var command = new ArrayList<>(List.of("rm", "--stop", "--force", "-v"));
+                command.addAll(started);
+                compose(command);
+            }
+        }
+    }
+}
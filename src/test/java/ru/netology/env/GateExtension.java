@@ -0,0 +1,54 @@
+package ru.netology.env;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.nio.file.Paths;
+
+public class GateExtension implements BeforeAllCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(GateExtension.class);
+
+    public static boolean isEmbedded() {
+        return Boolean.getBoolean("gate.embedded");
+    }
+
+    public static GateStub gate(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("gate", key -> start(), GateStub.class);
+    }
+
+    @SneakyThrows
+    private static GateStub start() {
+        var decisionLog = System.getProperty("gate.decisionLog", "");
+        return GateStub.start(Paths.get(System.getProperty("gate.data", "gate-simulator/data.json")),
+                decisionLog.isEmpty() ? null : Paths.get(decisionLog));
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (!isEmbedded()) {
+            return;
+        }
+        if (!SutExtension.isLaunched()) {
+            throw new IllegalStateException("gate.embedded=true needs a SUT started by the run to call it: set sut.jar or env.managed=true");
+        }
+        gate(context);
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == GateStub.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        if (!isEmbedded()) {
+            throw new ParameterResolutionException("GateStub is only available with gate.embedded=true");
+        }
+        return gate(extensionContext);
+    }
+}
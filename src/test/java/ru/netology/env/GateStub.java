@@ -0,0 +1,171 @@
+package ru.netology.env;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import ru.netology.load.LatencyStats;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+public class GateStub implements ExtensionContext.Store.CloseableResource {
+
+    public static final String PAYMENT = "/payment";
+    public static final String CREDIT = "/credit";
+
+    private static final Gson gson = new Gson();
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, String> statuses;
+    private final Map<String, Map<String, LongAdder>> calls = new ConcurrentHashMap<>();
+    private final Map<String, LatencyStats> latencies = new ConcurrentHashMap<>();
+    private final BufferedWriter decisionLog;
+
+    private static class Card {
+        String number;
+        String status;
+    }
+
+    private GateStub(Map<String, String> statuses, BufferedWriter decisionLog) throws IOException {
+        this.statuses = statuses;
+        this.decisionLog = decisionLog;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext(PAYMENT, exchange -> handle(PAYMENT, exchange));
+        server.createContext(CREDIT, exchange -> handle(CREDIT, exchange));
+    }
+
+    public static GateStub start(Path data) throws IOException {
+        return start(data, null);
+    }
+
+    public static GateStub start(Path data, Path decisionLog) throws IOException {
+        Card[] cards;
+        try (var reader = Files.newBufferedReader(data, StandardCharsets.UTF_8)) {
+            cards = gson.fromJson(reader, Card[].class);
+        }
+        var statuses = Arrays.stream(cards).collect(Collectors.toUnmodifiableMap(card -> card.number, card -> card.status));
+        BufferedWriter writer = null;
+        if (decisionLog != null) {
+            if (decisionLog.getParent() != null) {
+                Files.createDirectories(decisionLog.getParent());
+            }
+            writer = Files.newBufferedWriter(decisionLog, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        var gate = new GateStub(statuses, writer);
+        gate.server.start();
+        return gate;
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public long getCalls(String endpoint, String number) {
+        var byCard = calls.get(endpoint);
+        var counter = byCard == null ? null : byCard.get(number);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public long getCalls(String endpoint) {
+        var byCard = calls.get(endpoint);
+        return byCard == null ? 0 : byCard.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public LatencyStats getLatency(String endpoint) {
+        return latencies.computeIfAbsent(endpoint, LatencyStats::new);
+    }
+
+    public void reset() {
+        calls.clear();
+        latencies.clear();
+    }
+
+    private void handle(String endpoint, HttpExchange exchange) throws IOException {
+        var started = System.nanoTime();
+        var status = 200;
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                status = 405;
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            String number = null;
+            try (var reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+                var body = gson.fromJson(reader, JsonObject.class);
+                if (body != null && body.has("number") && !body.get("number").isJsonNull()) {
+                    number = body.get("number").getAsString();
+                }
+            } catch (JsonParseException e) {
+                number = null;
+            }
+            var cardStatus = number == null ? null : statuses.get(number);
+            calls.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(String.valueOf(number), key -> new LongAdder())
+                    .increment();
+            if (cardStatus == null) {
+                status = 400;
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            var response = new JsonObject();
+            response.addProperty("id", UUID.randomUUID().toString());
+            response.addProperty("status", cardStatus);
+            logDecision(endpoint, response);
+            var bytes = gson.toJson(response).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        } finally {
+            exchange.close();
+            getLatency(endpoint).record(System.nanoTime() - started, status == 200);
+        }
+    }
+
+    private void logDecision(String endpoint, JsonObject response) throws IOException {
+        if (decisionLog == null) {
+            return;
+        }
+        var decision = new JsonObject();
+        decision.add("id", response.get("id"));
+        decision.addProperty("endpoint", endpoint);
+        decision.add("status", response.get("status"));
+        decision.addProperty("time", System.currentTimeMillis());
+        var line = gson.toJson(decision);
+        synchronized (decisionLog) {
+            decisionLog.write(line);
+            decisionLog.newLine();
+        }
+    }
+
+    @Override
+    @SneakyThrows
+    public void close() {
+        server.stop(0);
+        executor.close();
+        if (decisionLog != null) {
+            decisionLog.close();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package ru.netology.env;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+import org.junit.platform.commons.support.AnnotationSupport;
+import ru.netology.data.Dialect;
+import ru.netology.report.PerformanceBudget;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ResultCacheExtension implements ExecutionCondition, TestWatcher, AfterAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ResultCacheExtension.class);
+    private static final List<String> inputs = List.of("gate.embedded", "data.seed", "data.pooled", "matrix.layer", "shard.index", "shard.count",
+            "result.cache.scope");
+
+    private static final boolean enabled = Boolean.getBoolean("result.cache") && dialectKnown();
+    private static final boolean seeded = System.getProperty("data.seed") != null;
+    private static final Path directory = Paths.get(System.getProperty("result.cache.dir", ".test-cache"));
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (!enabled || isUncached(context)) {
+            return ConditionEvaluationResult.enabled("Result cache is not used");
+        }
+        var key = key(context);
+        if (Files.exists(directory.resolve(key))) {
+            return ConditionEvaluationResult.disabled("Cached: passed with unchanged inputs " + key.substring(0, 12));
+        }
+        return ConditionEvaluationResult.enabled("Not cached");
+    }
+
+    @Override
+    @SneakyThrows
+    public void testSuccessful(ExtensionContext context) {
+        if (!enabled) {
+            return;
+        }
+        if (isUncached(context)) {
+            markDirty(context);
+            return;
+        }
+        store(key(context), context.getDisplayName());
+    }
+
+    @Override
+    public void testFailed(ExtensionContext context, Throwable cause) {
+        markDirty(context);
+    }
+
+    @Override
+    public void testAborted(ExtensionContext context, Throwable cause) {
+        markDirty(context);
+    }
+
+    @Override
+    public void testDisabled(ExtensionContext context, Optional<String> reason) {
+        if (reason.map(text -> !text.startsWith("Cached:")).orElse(true)) {
+            markDirty(context);
+        }
+    }
+
+    @Override
+    @SneakyThrows
+    public void afterAll(ExtensionContext context) {
+        if (enabled && !isUncached(context) && context.getStore(NAMESPACE).get("dirty") == null) {
+            store(key(context), context.getDisplayName());
+        }
+    }
+
+    private static boolean dialectKnown() {
+        try {
+            Dialect.current();
+            return true;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Result cache is disabled: the fingerprint includes the DB dialect. " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean isUncached(ExtensionContext context) {
+        return !seeded || context.getTestMethod()
+                .map(method -> AnnotationSupport.isAnnotated(method, Uncached.class)
+                        || AnnotationSupport.isAnnotated(method, PerformanceBudget.class)
+                        || AnnotationSupport.isAnnotated(method, PerformanceBudget.List.class))
+                .orElse(false)
+                || context.getTestClass().map(type -> AnnotationSupport.isAnnotated(type, Uncached.class)).orElse(false);
+    }
+
+    private static void markDirty(ExtensionContext context) {
+        Optional<ExtensionContext> current = Optional.of(context);
+        while (current.isPresent()) {
+            current.get().getStore(NAMESPACE).put("dirty", true);
+            current = current.get().getParent();
+        }
+    }
+
+    private static void store(String key, String name) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(key), name, StandardCharsets.UTF_8);
+    }
+
+    private static String key(ExtensionContext context) {
+        var digest = sha256();
+        update(digest, Fingerprint.ENVIRONMENT);
+        update(digest, Fingerprint.ofClass(context.getRequiredTestClass()));
+        update(digest, context.getUniqueId());
+        update(digest, context.getDisplayName());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static class Fingerprint {
+
+        private static final Path classes = classesRoot();
+        private static final String ENVIRONMENT = environment();
+
+        @SneakyThrows
+        private static Path classesRoot() {
+            return Paths.get(ResultCacheExtension.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        }
+
+        private static String environment() {
+            var digest = sha256();
+            update(digest, file(Paths.get(System.getProperty("sut.jar", "").isBlank() ? "artifacts/aqa-shop.jar" : System.getProperty("sut.jar"))));
+            update(digest, file(Paths.get(System.getProperty("gate.data", "gate-simulator/data.json"))));
+            update(digest, Dialect.current().name());
+            update(digest, LocalDate.now().toString());
+            for (String input : inputs) {
+                update(digest, input + "=" + System.getProperty(input, ""));
+            }
+            update(digest, tree(path -> !path.startsWith(classes.resolve(Paths.get("ru", "netology", "test")))));
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        private static String ofClass(Class<?> type) {
+            var top = type;
+            while (top.getEnclosingClass() != null) {
+                top = top.getEnclosingClass();
+            }
+            var directory = classes.resolve(top.getPackageName().replace('.', '/'));
+            var prefix = top.getSimpleName();
+            return tree(path -> path.getParent().equals(directory)
+                    && (path.getFileName().toString().equals(prefix + ".class") || path.getFileName().toString().startsWith(prefix + "$")));
+        }
+
+        @SneakyThrows
+        private static String tree(Predicate<Path> filter) {
+            if (!Files.isDirectory(classes)) {
+                return file(classes);
+            }
+            var digest = sha256();
+            try (Stream<Path> files = Files.walk(classes)) {
+                for (Path path : files.filter(Files::isRegularFile).filter(filter).sorted().collect(Collectors.toList())) {
+                    update(digest, classes.relativize(path).toString());
+                    update(digest, file(path));
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        @SneakyThrows
+        private static String file(Path path) {
+            if (!Files.isRegularFile(path)) {
+                return "missing:" + path;
+            }
+            var digest = sha256();
+            try (InputStream input = Files.newInputStream(path)) {
+                var buffer = new byte[64 * 1024];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+
+    @SneakyThrows
+    private static MessageDigest sha256() {
+        return MessageDigest.getInstance("SHA-256");
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.netology.env;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import ru.netology.data.DatabaseClone;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+public class SutExtension implements BeforeAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SutExtension.class);
+    private static final URI configured = URI.create(System.getProperty("sut.url", "http://localhost:8080"));
+
+    private static volatile URI url = configured;
+
+    public static String url() {
+        return url.toString();
+    }
+
+    public static boolean isLaunched() {
+        var jar = System.getProperty("sut.jar");
+        return Environment.isManaged() || jar != null && !jar.isBlank();
+    }
+
+    static URI requestedUrl() {
+        if (!DatabaseClone.isEnabled()) {
+            return configured;
+        }
+        return URI.create(configured.getScheme() + "://" + configured.getHost() + ":0");
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        var jar = System.getProperty("sut.jar");
+        var managed = Environment.isManaged();
+        if (!isLaunched()) {
+            if (DatabaseClone.isEnabled()) {
+                throw new IllegalStateException("db.isolation=clone runs a SUT per worker: set sut.jar or env.managed=true");
+            }
+            return;
+        }
+        if (!managed && !DatabaseClone.isEnabled() && Integer.getInteger("forks", 1) > 1) {
+            throw new IllegalStateException("Every fork would start a SUT on " + configured + ": set db.isolation=clone or run one fork");
+        }
+        var store = context.getRoot().getStore(NAMESPACE);
+        var properties = new HashMap<String, String>();
+        if (GateExtension.isEmbedded()) {
+            var gate = GateExtension.gate(context);
+            properties.put("spring.payment-gate.url", gate.getUrl() + GateStub.PAYMENT);
+            properties.put("spring.credit-gate.url", gate.getUrl() + GateStub.CREDIT);
+        }
+        if (managed) {
+            var path = Paths.get(jar == null || jar.isBlank() ? "artifacts/aqa-shop.jar" : jar);
+            url = store.getOrComputeIfAbsent("environment", key -> environment(path, properties), Environment.class).getSutUrl();
+            return;
+        }
+        if (DatabaseClone.isEnabled()) {
+            store.getOrComputeIfAbsent("database", key -> cloneDatabase(), DatabaseClone.class);
+        }
+        url = store.getOrComputeIfAbsent("sut", key -> start(jar, properties), SutProcess.class).getUrl();
+    }
+
+    @SneakyThrows
+    static DatabaseClone cloneDatabase() {
+        return DatabaseClone.create();
+    }
+
+    @SneakyThrows
+    private static Environment environment(Path jar, Map<String, String> properties) {
+        return Environment.start(jar, properties);
+    }
+
+    @SneakyThrows
+    private static SutProcess start(String jar, Map<String, String> properties) {
+        var sut = SutProcess.start(Paths.get(jar), requestedUrl(), System.getProperty("db.url"), properties);
+        sut.awaitReady(Duration.parse(System.getProperty("sut.startTimeout", "PT2M")));
+        return sut;
+    }
+}
@@ -0,0 +1,101 @@
+package ru.netology.env;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+public class SutProcess implements ExtensionContext.Store.CloseableResource {
+
+    private static final Pattern STARTED = Pattern.compile("started on port(?:\\(s\\))?:? (\\d+)");
+
+    private final Process process;
+    private URI url;
+    private final Path log;
+
+    private SutProcess(Process process, URI url, Path log) {
+        this.process = process;
+        this.url = url;
+        this.log = log;
+    }
+
+    public static SutProcess start(Path jar, URI url, String dbUrl, Map<String, String> properties) throws IOException {
+        var name = url.getPort() == 0 ? "w" + System.getProperty("org.gradle.test.worker", "0") : String.valueOf(url.getPort());
+        var log = Paths.get("build", "sut-" + name + ".log").toAbsolutePath();
+        Files.createDirectories(log.getParent());
+        var command = new ArrayList<String>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Dspring.datasource.url=" + dbUrl);
+        command.add("-Dserver.port=" + url.getPort());
+        properties.forEach((key, value) -> command.add("-D" + key + "=" + value));
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        return new SutProcess(process, url, log);
+    }
+
+    public URI getUrl() {
+        return url;
+    }
+
+    public void awaitReady(Duration timeout) throws IOException, InterruptedException {
+        var deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("SUT exited with code " + process.exitValue() + ", see " + log);
+            }
+            if (url.getPort() == 0) {
+                url = boundUrl();
+            } else if (isReady()) {
+                return;
+            }
+            TimeUnit.MILLISECONDS.sleep(250);
+        }
+        close();
+        throw new IllegalStateException("SUT did not start on " + url + " within " + timeout + ", see " + log);
+    }
+
+    private URI boundUrl() throws IOException {
+        var matcher = STARTED.matcher(Files.readString(log, StandardCharsets.ISO_8859_1));
+        if (!matcher.find()) {
+            return url;
+        }
+        return URI.create(url.getScheme() + "://" + url.getHost() + ":" + matcher.group(1));
+    }
+
+    private boolean isReady() {
+        try {
+            var connection = (HttpURLConnection) url.toURL().openConnection();
+            connection.setConnectTimeout(1000);
+            connection.setReadTimeout(1000);
+            try {
+                return connection.getResponseCode() < 500;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
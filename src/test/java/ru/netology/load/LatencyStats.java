@@ -0,0 +1,48 @@
+package ru.netology.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyStats {
+
+    private final String name;
+    private final Histogram histogram = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+
+    public LatencyStats(String name) {
+        this.name = name;
+    }
+
+    public void record(long latencyNanos, boolean success) {
+        histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public double getPercentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMaxMillis() {
+        return histogram.getMaxValue() / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-8s count=%d errors=%d p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms",
+                name, getCount(), getErrors(), getPercentileMillis(50), getPercentileMillis(95),
+                getPercentileMillis(99), getMaxMillis());
+    }
+}
@@ -0,0 +1,39 @@
+package ru.netology.load;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+public class LoadConfig {
+    Model model;
+    Operation operation;
+    double ratePerSecond;
+    int users;
+    Duration duration;
+    Duration warmUp;
+    double declinedShare;
+
+    public enum Model {
+        OPEN,
+        CLOSED
+    }
+
+    public enum Operation {
+        PAYMENT,
+        CREDIT,
+        MIXED
+    }
+
+    public static LoadConfig fromSystemProperties() {
+        return new LoadConfig(
+                Model.valueOf(System.getProperty("load.model", "closed").toUpperCase()),
+                Operation.valueOf(System.getProperty("load.operation", "mixed").toUpperCase()),
+                Double.parseDouble(System.getProperty("load.rate", "20")),
+                Integer.getInteger("load.users", 10),
+                Duration.parse(System.getProperty("load.duration", "PT1M")),
+                Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                Double.parseDouble(System.getProperty("load.declinedShare", "0.5"))
+        );
+    }
+}
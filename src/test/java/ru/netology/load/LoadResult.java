@@ -0,0 +1,35 @@
+package ru.netology.load;
+
+import lombok.Value;
+import ru.netology.data.PurchaseVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+@Value
+public class LoadResult {
+    LoadConfig config;
+    Duration elapsed;
+    List<LatencyStats> stats;
+    PurchaseVerifier verifier;
+
+    public long getCount() {
+        return stats.stream().mapToLong(LatencyStats::getCount).sum();
+    }
+
+    public long getErrors() {
+        return stats.stream().mapToLong(LatencyStats::getErrors).sum();
+    }
+
+    public double getThroughput() {
+        return getCount() * 1000.0 / Math.max(1, elapsed.toMillis());
+    }
+
+    @Override
+    public String toString() {
+        var report = new StringBuilder(String.format("%s load, %s, %.1f req/s over %ds%n",
+                config.getModel(), config.getOperation(), getThroughput(), elapsed.toSeconds()));
+        stats.forEach(stat -> report.append(stat).append(System.lineSeparator()));
+        return report.toString();
+    }
+}
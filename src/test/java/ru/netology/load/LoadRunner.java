@@ -0,0 +1,106 @@
+package ru.netology.load;
+
+import ru.netology.data.DataGenerator;
+import ru.netology.data.PurchaseVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadRunner {
+
+    private final LoadConfig config;
+    private final PurchaseVerifier verifier = PurchaseVerifier.startBatch();
+    private final LatencyStats paymentStats = new LatencyStats("payment");
+    private final LatencyStats creditStats = new LatencyStats("credit");
+    private final AtomicLong sequence = new AtomicLong();
+
+    public LoadRunner(LoadConfig config) {
+        this.config = config;
+    }
+
+    public LoadResult run() throws InterruptedException {
+        try (var client = PurchaseClient.fromSystemProperties()) {
+            var start = System.nanoTime();
+            var recordFrom = start + config.getWarmUp().toNanos();
+            var end = recordFrom + config.getDuration().toNanos();
+            if (config.getModel() == LoadConfig.Model.OPEN) {
+                runOpen(client, start, recordFrom, end);
+            } else {
+                runClosed(client, recordFrom, end);
+            }
+            var elapsed = Duration.ofNanos(System.nanoTime() - recordFrom);
+            return new LoadResult(config, elapsed, List.of(paymentStats, creditStats), verifier);
+        }
+    }
+
+    private void runOpen(PurchaseClient client, long start, long recordFrom, long end) throws InterruptedException {
+        var executor = Executors.newVirtualThreadPerTaskExecutor();
+        var intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.getRatePerSecond());
+        for (long i = 0; ; i++) {
+            var intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            var wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            executor.execute(() -> purchase(client, intended, intended >= recordFrom));
+        }
+        awaitTermination(executor);
+    }
+
+    private void runClosed(PurchaseClient client, long recordFrom, long end) throws InterruptedException {
+        var executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int user = 0; user < config.getUsers(); user++) {
+            executor.execute(() -> {
+                long started;
+                while ((started = System.nanoTime()) < end) {
+                    purchase(client, started, started >= recordFrom);
+                }
+            });
+        }
+        awaitTermination(executor);
+    }
+
+    private void awaitTermination(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void purchase(PurchaseClient client, long intendedStart, boolean record) {
+        var declined = ThreadLocalRandom.current().nextDouble() < config.getDeclinedShare();
+        var cardData = declined ? DataGenerator.getValidDeclinedCard() : DataGenerator.getValidApprovedCard();
+        var credit = config.getOperation() == LoadConfig.Operation.CREDIT
+                || config.getOperation() == LoadConfig.Operation.MIXED && sequence.getAndIncrement() % 2 == 1;
+        boolean success;
+        try {
+            success = (credit ? client.credit(cardData) : client.pay(cardData)) == 200;
+            if (success) {
+                var status = declined ? "DECLINED" : "APPROVED";
+                if (credit) {
+                    verifier.expectCredit(status);
+                } else {
+                    verifier.expectPayment(status);
+                }
+            }
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (record) {
+            (credit ? creditStats : paymentStats).record(System.nanoTime() - intendedStart, success);
+        }
+    }
+}
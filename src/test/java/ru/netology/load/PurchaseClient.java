@@ -0,0 +1,69 @@
+package ru.netology.load;
+
+import com.google.gson.Gson;
+import ru.netology.data.ApiHelper;
+import ru.netology.data.DataGenerator;
+import ru.netology.env.SutExtension;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class PurchaseClient implements AutoCloseable {
+
+    private static final Gson gson = new Gson();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client;
+    private final URI paymentUri;
+    private final URI creditUri;
+    private final Duration timeout;
+
+    public PurchaseClient(String baseUrl, Duration timeout) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(executor)
+                .build();
+        this.paymentUri = URI.create(baseUrl + "/api/v1/pay");
+        this.creditUri = URI.create(baseUrl + "/api/v1/credit");
+        this.timeout = timeout;
+    }
+
+    public static PurchaseClient fromSystemProperties() {
+        return new PurchaseClient(SutExtension.url(),
+                Duration.parse(System.getProperty("load.timeout", "PT30S")));
+    }
+
+    public int pay(DataGenerator.CardData cardData) throws IOException, InterruptedException {
+        return send(paymentUri, cardData);
+    }
+
+    public int credit(DataGenerator.CardData cardData) throws IOException, InterruptedException {
+        return send(creditUri, cardData);
+    }
+
+    private int send(URI uri, DataGenerator.CardData cardData) throws IOException, InterruptedException {
+        return client.send(request(uri, cardData), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest request(URI uri, DataGenerator.CardData cardData) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(ApiHelper.toRequest(cardData))))
+                .build();
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        executor.close();
+    }
+}
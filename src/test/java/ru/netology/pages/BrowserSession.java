@@ -0,0 +1,60 @@
+package ru.netology.pages;
+
+import com.codeborne.selenide.CollectionCondition;
+import com.codeborne.selenide.Condition;
+import com.codeborne.selenide.Selenide;
+import com.codeborne.selenide.WebDriverRunner;
+import com.codeborne.selenide.ex.UIAssertionError;
+import ru.netology.report.PhaseTimer;
+
+import java.time.Duration;
+
+import static com.codeborne.selenide.Selenide.$$;
+
+public class BrowserSession {
+
+    private static final boolean reuse = Boolean.getBoolean("session.reuse");
+    private static final ThreadLocal<Boolean> dirty = ThreadLocal.withInitial(() -> true);
+
+    private static final String RESET = "const inputs = document.querySelectorAll('form input');\n" +
+            "if (inputs.length === 0) return false;\n" +
+            "const setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;\n" +
+            "inputs.forEach(input => {\n" +
+            "  setter.call(input, '');\n" +
+            "  input.dispatchEvent(new Event('input', {bubbles: true}));\n" +
+            "  input.dispatchEvent(new Event('change', {bubbles: true}));\n" +
+            "});\n" +
+            "if (document.activeElement) document.activeElement.blur();\n" +
+            "document.querySelectorAll('.notification .notification__closer').forEach(closer => closer.click());\n" +
+            "return true;";
+
+    private BrowserSession() {
+    }
+
+    public static void open(String url) {
+        PhaseTimer.time(PhaseTimer.OPEN, () -> {
+            if (!reuse || dirty.get() || !WebDriverRunner.hasWebDriverStarted() || !WebDriverRunner.url().startsWith(url) || !reset()) {
+                Selenide.open(url);
+            }
+            dirty.set(!reuse);
+        });
+    }
+
+    public static void invalidate() {
+        dirty.set(true);
+    }
+
+    private static boolean reset() {
+        if (!Boolean.TRUE.equals(Selenide.executeJavaScript(RESET))) {
+            return false;
+        }
+        try {
+            $$(".input__sub, .notification_status_ok, .notification_status_error")
+                    .filter(Condition.visible)
+                    .shouldHave(CollectionCondition.size(0), Duration.ofSeconds(1));
+            return true;
+        } catch (UIAssertionError e) {
+            return false;
+        }
+    }
+}
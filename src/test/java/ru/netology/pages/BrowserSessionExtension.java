@@ -0,0 +1,17 @@
+package ru.netology.pages;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+
+public class BrowserSessionExtension implements TestWatcher {
+
+    @Override
+    public void testFailed(ExtensionContext context, Throwable cause) {
+        BrowserSession.invalidate();
+    }
+
+    @Override
+    public void testAborted(ExtensionContext context, Throwable cause) {
+        BrowserSession.invalidate();
+    }
+}
@@ -0,0 +1,82 @@
+package ru.netology.pages;
+
+import com.codeborne.selenide.Selenide;
+import com.codeborne.selenide.WebDriverRunner;
+import ru.netology.load.LatencyStats;
+import ru.netology.report.PhaseTimer;
+
+import java.time.Duration;
+
+class NotificationWatcher {
+
+    static final Duration GRACE = Duration.ofMillis(Long.getLong("wait.grace", 1000));
+
+    private static final boolean adaptive = !"false".equals(System.getProperty("wait.adaptive"));
+    private static final double factor = Double.parseDouble(System.getProperty("wait.factor", "3"));
+    private static final long floorMillis = Long.getLong("wait.floor", 3000);
+    private static final long ceilingMillis = Long.getLong("wait.ceiling", 60000);
+    private static final long minSamples = Long.getLong("wait.samples", 10);
+    private static final LatencyStats latencies = new LatencyStats("notification");
+
+    private static final String SCRIPT = "const callback = arguments[arguments.length - 1];\n" +
+            "const shown = selector => {\n" +
+            "  const el = document.querySelector(selector);\n" +
+            "  if (!el || el.getClientRects().length === 0) return false;\n" +
+            "  const style = getComputedStyle(el);\n" +
+            "  const rect = el.getBoundingClientRect();\n" +
+            "  return style.visibility !== 'hidden' && style.opacity !== '0'\n" +
+            "    && rect.bottom > 0 && rect.right > 0 && rect.top < innerHeight && rect.left < innerWidth;\n" +
+            "};\n" +
+            "const outcome = () => shown('.notification_status_ok') ? 'OK' : shown('.notification_status_error') ? 'ERROR' : null;\n" +
+            "const current = outcome();\n" +
+            "if (current) {\n" +
+            "  callback(current);\n" +
+            "  return;\n" +
+            "}\n" +
+            "let timer;\n" +
+            "const observer = new MutationObserver(() => {\n" +
+            "  const result = outcome();\n" +
+            "  if (result) {\n" +
+            "    observer.disconnect();\n" +
+            "    clearTimeout(timer);\n" +
+            "    callback(result);\n" +
+            "  }\n" +
+            "});\n" +
+            "observer.observe(document.body, {subtree: true, childList: true, attributes: true, characterData: true});\n" +
+            "timer = setTimeout(() => {\n" +
+            "  observer.disconnect();\n" +
+            "  callback('TIMEOUT');\n" +
+            "}, arguments[0]);";
+
+    private NotificationWatcher() {
+    }
+
+    static void await(long submittedAt, Duration fallback) {
+        var remaining = timeout(fallback).minusNanos(System.nanoTime() - submittedAt);
+        if (remaining.isNegative()) {
+            remaining = Duration.ZERO;
+        }
+        var timeouts = WebDriverRunner.getWebDriver().manage().timeouts();
+        var previous = timeouts.getScriptTimeout();
+        timeouts.scriptTimeout(remaining.plusSeconds(5));
+        String outcome;
+        try {
+            outcome = Selenide.executeAsyncJavaScript(SCRIPT, remaining.toMillis());
+        } finally {
+            timeouts.scriptTimeout(previous);
+        }
+        var elapsed = System.nanoTime() - submittedAt;
+        PhaseTimer.record(PhaseTimer.NOTIFICATION, elapsed);
+        if (!"TIMEOUT".equals(outcome)) {
+            latencies.record(elapsed, true);
+        }
+    }
+
+    static Duration timeout(Duration fallback) {
+        if (!adaptive || latencies.getCount() < minSamples) {
+            return fallback;
+        }
+        var learned = (long) (latencies.getPercentileMillis(99) * factor);
+        return Duration.ofMillis(Math.min(ceilingMillis, Math.max(floorMillis, learned)));
+    }
+}
@@ -0,0 +1,184 @@
+package ru.netology.pages;
+
+import com.codeborne.selenide.Condition;
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.Selenide;
+import com.codeborne.selenide.SelenideElement;
+import ru.netology.report.PhaseTimer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.codeborne.selenide.Selenide.*;
+
+public class PaymentForm {
+
+    public static final String FORMAT = "Неверный формат";
+    public static final String TERM = "Неверно указан срок действия карты";
+    public static final String EXPIRED = "Истёк срок действия карты";
+    public static final String LIMIT = "Превышен лимит вводимых символов";
+    public static final String REQUIRED = "Поле обязательно для заполнения";
+
+    public enum Field {
+        CARD_NUMBER("Номер карты"),
+        MONTH("Месяц"),
+        YEAR("Год"),
+        OWNER("Владелец"),
+        CVC("CVC/CVV");
+
+        private final String label;
+
+        Field(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final String SNAPSHOT = "return arguments[0].map(label => {\n" +
+            "  const el = document.evaluate(`//*[text()='${label}']/..//*[@class='input__sub']`, document, null,\n" +
+            "    XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;\n" +
+            "  if (!el || el.getClientRects().length === 0 || getComputedStyle(el).visibility === 'hidden') return null;\n" +
+            "  return el.textContent.replace(/\\s+/g, ' ').trim();\n" +
+            "});";
+    private static final List<String> labels = Arrays.stream(Field.values()).map(field -> field.label).toList();
+
+    private final SelenideElement continueButton = $x("//span[text()='Продолжить']");
+
+    private final SelenideElement cardNumberInput = $("input[placeholder='0000 0000 0000 0000']");
+    private final SelenideElement monthInput = $("input[placeholder='08'");
+    private final SelenideElement yearInput = $("input[placeholder='22'");
+    private final SelenideElement ownerInput = $x("//span[text()='Владелец']/../../..//input");
+    private final SelenideElement cvcInput = $("input[placeholder='999'");
+
+    private final SelenideElement notificationError = $x("//div[contains(@class, 'notification_status_error')]");
+    private final SelenideElement notificationSuccess = $(".notification_status_ok");
+
+    private long submittedAt;
+
+    public void sendDataInForm(String number, String month, String year, String owner, String cvc) {
+        PhaseTimer.time(PhaseTimer.FILL, () -> {
+            cardNumberInput.setValue(number);
+            monthInput.setValue(month);
+            yearInput.setValue(year);
+            ownerInput.setValue(owner);
+            cvcInput.setValue(cvc);
+            continueButton.click();
+        });
+        submittedAt = System.nanoTime();
+    }
+
+    public void approved() {
+        NotificationWatcher.await(submittedAt, Duration.ofSeconds(15));
+        notificationSuccess
+                .shouldHave(Condition.text("Операция одобрена Банком."), NotificationWatcher.GRACE)
+                .shouldBe(Condition.visible);
+    }
+
+    public void declined() {
+        NotificationWatcher.await(submittedAt, Duration.ofSeconds(10));
+        notificationError
+                .shouldHave(Condition.text("Ошибка! Банк отказал в проведении операции."), NotificationWatcher.GRACE)
+                .shouldBe(Condition.visible);
+    }
+
+    public Map<Field, String> errors() {
+        List<String> texts = Selenide.executeJavaScript(SNAPSHOT, labels);
+        var errors = new EnumMap<Field, String>(Field.class);
+        for (Field field : Field.values()) {
+            var text = texts.get(field.ordinal());
+            if (text != null) {
+                errors.put(field, text);
+            }
+        }
+        return errors;
+    }
+
+    public void shouldHaveErrors(Map<Field, String> expected) {
+        var deadline = System.currentTimeMillis() + Configuration.timeout;
+        var actual = errors();
+        while (!matches(actual, expected) && System.currentTimeMillis() < deadline) {
+            Selenide.sleep(Configuration.pollingInterval);
+            actual = errors();
+        }
+        if (!matches(actual, expected)) {
+            throw new AssertionError("Form errors mismatch" + System.lineSeparator() +
+                    "Expected: " + expected + System.lineSeparator() +
+                    "Actual:   " + actual);
+        }
+    }
+
+    public void shouldHaveError(Field field, String text) {
+        shouldHaveErrors(Collections.singletonMap(field, text));
+    }
+
+    private static boolean matches(Map<Field, String> actual, Map<Field, String> expected) {
+        if (!actual.keySet().equals(expected.keySet())) {
+            return false;
+        }
+        for (Map.Entry<Field, String> entry : expected.entrySet()) {
+            if (!actual.get(entry.getKey()).toLowerCase().contains(entry.getValue().toLowerCase())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void monthErrorFormat() {
+        shouldHaveError(Field.MONTH, FORMAT);
+    }
+
+    public void monthErrorTerm() {
+        shouldHaveError(Field.MONTH, TERM);
+    }
+
+    public void monthErrorFilling() {
+        shouldHaveError(Field.MONTH, REQUIRED);
+    }
+
+    public void cardNumberErrorFormat() {
+        shouldHaveError(Field.CARD_NUMBER, FORMAT);
+    }
+
+    public void cardNumberErrorFilling() {
+        shouldHaveError(Field.CARD_NUMBER, REQUIRED);
+    }
+
+    public void yearErrorFormat() {
+        shouldHaveError(Field.YEAR, FORMAT);
+    }
+
+    public void yearErrorExpired() {
+        shouldHaveError(Field.YEAR, EXPIRED);
+    }
+
+    public void yearErrorTerm() {
+        shouldHaveError(Field.YEAR, TERM);
+    }
+
+    public void yearErrorFilling() {
+        shouldHaveError(Field.YEAR, REQUIRED);
+    }
+
+    public void ownerErrorFormat() {
+        shouldHaveError(Field.OWNER, FORMAT);
+    }
+
+    public void ownerErrorLimit() {
+        shouldHaveError(Field.OWNER, LIMIT);
+    }
+
+    public void ownerErrorFilling() {
+        shouldHaveError(Field.OWNER, REQUIRED);
+    }
+
+    public void cvcErrorFormat() {
+        shouldHaveError(Field.CVC, FORMAT);
+    }
+
+    public void cvcErrorFilling() {
+        shouldHaveError(Field.CVC, REQUIRED);
+    }
+}
@@ -2,6 +2,7 @@ package ru.netology.pages;
 
 import com.codeborne.selenide.Condition;
 import com.codeborne.selenide.SelenideElement;
+import ru.netology.report.PhaseTimer;
 
 import static com.codeborne.selenide.Selectors.byText;
 import static com.codeborne.selenide.Selenide.*;
@@ -15,14 +16,18 @@ public class StartPage {
     private final SelenideElement continueButton = $x("//span[text()='Продолжить']");
 
     public void chooseDebitCard() {
-        debitButton.click();
-        debitTitle.shouldBe(Condition.visible);
-        continueButton.shouldBe(Condition.visible);
+        PhaseTimer.time(PhaseTimer.CHOOSE, () -> {
+            debitButton.click();
+            debitTitle.shouldBe(Condition.visible);
+            continueButton.shouldBe(Condition.visible);
+        });
     }
 
     public void chooseCreditCard() {
-        creditButton.click();
-        creditTitle.shouldBe(Condition.visible);
-        continueButton.shouldBe(Condition.visible);
+        PhaseTimer.time(PhaseTimer.CHOOSE, () -> {
+            creditButton.click();
+            creditTitle.shouldBe(Condition.visible);
+            continueButton.shouldBe(Condition.visible);
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package ru.netology.report;
+
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+public class AttachmentWriter implements ExtensionContext.Store.CloseableResource {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(AttachmentWriter.class);
+    private static final long compressAbove = Long.getLong("evidence.compressAbove", 1024 * 1024);
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "allure-evidence-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static AttachmentWriter of(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("writer", key -> new AttachmentWriter(), AttachmentWriter.class);
+    }
+
+    public void attach(String name, String type, String extension, byte[] content) {
+        var source = Allure.getLifecycle().prepareAttachment(name, type, extension);
+        executor.execute(() -> Allure.getLifecycle().writeAttachment(source, new ByteArrayInputStream(content)));
+    }
+
+    public void attachText(String name, String type, String extension, String text) {
+        var content = text.getBytes(StandardCharsets.UTF_8);
+        if (content.length <= compressAbove) {
+            attach(name, type, extension, content);
+            return;
+        }
+        var source = Allure.getLifecycle().prepareAttachment(name, "application/gzip", extension + ".gz");
+        executor.execute(() -> Allure.getLifecycle().writeAttachment(source, new ByteArrayInputStream(gzip(content))));
+    }
+
+    private static byte[] gzip(byte[] content) {
+        var result = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (var gzip = new GZIPOutputStream(result)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result.toByteArray();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+}
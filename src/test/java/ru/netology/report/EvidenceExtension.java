@@ -0,0 +1,76 @@
+package ru.netology.report;
+
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.WebDriverRunner;
+import com.codeborne.selenide.logevents.SelenideLogger;
+import io.qameta.allure.selenide.AllureSelenide;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class EvidenceExtension implements BeforeEachCallback, AfterTestExecutionCallback, AfterEachCallback {
+
+    public enum Policy {
+        NONE,
+        FAILURE,
+        SAMPLE,
+        ALWAYS
+    }
+
+    private static final Policy policy = Policy.valueOf(System.getProperty("evidence.policy", "failure").toUpperCase());
+    private static final double sample = Double.parseDouble(System.getProperty("evidence.sample", "0.1"));
+    private static final boolean steps = !"false".equals(System.getProperty("evidence.steps"));
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        Configuration.screenshots = false;
+        Configuration.savePageSource = false;
+        SelenideLogger.addListener("allure", new AllureSelenide()
+                .screenshots(false)
+                .savePageSource(false)
+                .includeSelenideSteps(steps));
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (!shouldCapture(context.getExecutionException().isPresent()) || !WebDriverRunner.hasWebDriverStarted()) {
+            return;
+        }
+        var writer = AttachmentWriter.of(context);
+        var driver = WebDriverRunner.getWebDriver();
+        try {
+            writer.attach("Screenshot", "image/png", "png", ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+        } catch (WebDriverException e) {
+            captureFailed(writer, "Screenshot", e);
+        }
+        try {
+            writer.attachText("Page source", "text/html", "html", driver.getPageSource());
+        } catch (WebDriverException e) {
+            captureFailed(writer, "Page source", e);
+        }
+    }
+
+    private static void captureFailed(AttachmentWriter writer, String evidence, WebDriverException e) {
+        writer.attachText(evidence + " capture failed", "text/plain", "txt", e.toString());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        SelenideLogger.removeListener("allure");
+    }
+
+    private static boolean shouldCapture(boolean failed) {
+        return switch (policy) {
+            case NONE -> false;
+            case FAILURE -> failed;
+            case SAMPLE -> failed || ThreadLocalRandom.current().nextDouble() < sample;
+            case ALWAYS -> true;
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package ru.netology.report;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(PerformanceBudget.List.class)
+public @interface PerformanceBudget {
+
+    String phase();
+
+    long millis();
+
+    double percentile() default 95;
+
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface List {
+        PerformanceBudget[] value();
+    }
+}
@@ -0,0 +1,66 @@
+package ru.netology.report;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PhaseTimer {
+
+    public static final String OPEN = "open";
+    public static final String CHOOSE = "choose";
+    public static final String FILL = "sendDataInForm";
+    public static final String NOTIFICATION = "notification";
+    public static final String DB = "db";
+
+    private static final ThreadLocal<PhaseTimer> current = new ThreadLocal<>();
+
+    private final List<Phase> phases = new ArrayList<>();
+
+    @Value
+    public static class Phase {
+        String name;
+        double millis;
+    }
+
+    private PhaseTimer() {
+    }
+
+    static void start() {
+        current.set(new PhaseTimer());
+    }
+
+    static PhaseTimer stop() {
+        var timer = current.get();
+        current.remove();
+        return timer;
+    }
+
+    public static void time(String phase, Runnable action) {
+        var started = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            record(phase, System.nanoTime() - started);
+        }
+    }
+
+    public static void record(String phase, long nanos) {
+        var timer = current.get();
+        if (timer != null) {
+            timer.phases.add(new Phase(phase, nanos / 1_000_000.0));
+        }
+    }
+
+    List<Phase> getPhases() {
+        return phases;
+    }
+
+    double total(String phase) {
+        return phases.stream().filter(item -> item.getName().equals(phase)).mapToDouble(Phase::getMillis).sum();
+    }
+
+    boolean has(String phase) {
+        return phases.stream().anyMatch(item -> item.getName().equals(phase));
+    }
+}
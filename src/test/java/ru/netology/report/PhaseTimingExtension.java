@@ -0,0 +1,111 @@
+package ru.netology.report;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class PhaseTimingExtension implements BeforeEachCallback, AfterTestExecutionCallback, AfterAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(PhaseTimingExtension.class);
+    private static final Gson gson = new Gson();
+
+    private static final double scale = Double.parseDouble(System.getProperty("budget.scale", "1"));
+    private static final boolean enforce = !"false".equals(System.getProperty("budget.enforce"));
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        PhaseTimer.start();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        var timer = PhaseTimer.stop();
+        if (timer == null || timer.getPhases().isEmpty()) {
+            return;
+        }
+        var budgets = AnnotationSupport.findRepeatableAnnotations(context.getRequiredTestMethod(), PerformanceBudget.class);
+        var failed = context.getExecutionException().isPresent();
+        if (failed || exceedsBudget(timer, budgets)) {
+            AttachmentWriter.of(context).attachText("Phase timings", "application/json", "json", report(context, timer));
+        }
+        if (budgets.isEmpty() || failed) {
+            return;
+        }
+        var samples = samples(context).computeIfAbsent(context.getRequiredTestMethod(), key -> new ConcurrentHashMap<>());
+        for (PerformanceBudget budget : budgets) {
+            if (timer.has(budget.phase())) {
+                samples.computeIfAbsent(budget.phase(), key -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(timer.total(budget.phase()));
+            }
+        }
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        var violations = new ArrayList<String>();
+        samples(context).forEach((method, byPhase) -> {
+            for (PerformanceBudget budget : AnnotationSupport.findRepeatableAnnotations(method, PerformanceBudget.class)) {
+                var values = byPhase.get(budget.phase());
+                if (values == null || values.isEmpty()) {
+                    continue;
+                }
+                var actual = percentile(values, budget.percentile());
+                var limit = budget.millis() * scale;
+                if (actual > limit) {
+                    violations.add(String.format("%s: %s p%.0f = %.0f ms over %d runs exceeds the %.0f ms budget",
+                            method.getName(), budget.phase(), budget.percentile(), actual, values.size(), limit));
+                }
+            }
+        });
+        if (violations.isEmpty()) {
+            return;
+        }
+        var message = "Performance budget exceeded" + System.lineSeparator() + String.join(System.lineSeparator(), violations);
+        if (enforce) {
+            throw new AssertionError(message);
+        }
+        System.err.println(message);
+    }
+
+    private static boolean exceedsBudget(PhaseTimer timer, List<PerformanceBudget> budgets) {
+        return budgets.stream().anyMatch(budget -> timer.has(budget.phase()) && timer.total(budget.phase()) > budget.millis() * scale);
+    }
+
+    private static String report(ExtensionContext context, PhaseTimer timer) {
+        var report = new JsonObject();
+        report.addProperty("test", context.getDisplayName());
+        report.add("phases", gson.toJsonTree(timer.getPhases()));
+        var totals = new JsonObject();
+        timer.getPhases().stream().map(PhaseTimer.Phase::getName).distinct()
+                .forEach(phase -> totals.addProperty(phase, timer.total(phase)));
+        report.add("totals", totals);
+        return gson.toJson(report);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Method, Map<String, List<Double>>> samples(ExtensionContext context) {
+        var owner = context;
+        while (owner.getTestMethod().isPresent() && owner.getParent().isPresent()) {
+            owner = owner.getParent().get();
+        }
+        return owner.getStore(NAMESPACE).getOrComputeIfAbsent("samples", key -> new ConcurrentHashMap<>(), Map.class);
+    }
+
+    private static double percentile(List<Double> values, double percentile) {
+        var sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        var rank = (int) Math.ceil(percentile / 100 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+}
@@ -0,0 +1,264 @@
+package ru.netology.test;
+
+import io.restassured.response.ValidatableResponse;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import ru.netology.data.DbPoolExtension;
+import ru.netology.data.DbResetExtension;
+import ru.netology.data.SeedExtension;
+import ru.netology.env.GateExtension;
+import ru.netology.env.GateStub;
+import ru.netology.env.ResultCacheExtension;
+import ru.netology.env.SutExtension;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.netology.data.ApiHelper.*;
+import static ru.netology.data.DataGenerator.*;
+import static ru.netology.data.DbHelper.*;
+
+@Tag("api")
+@ExtendWith({ResultCacheExtension.class, GateExtension.class, SutExtension.class, DbPoolExtension.class, DbResetExtension.class, SeedExtension.class})
+public class ApiBuyingTest {
+
+    private static void rejected(ValidatableResponse response) {
+        response.statusCode(greaterThanOrEqualTo(400));
+    }
+
+    @Nested
+    public class PositiveScenarios {
+
+        @Test
+        @ResourceLock(PURCHASE_LOCK)
+        @DisplayName("№1 Buying with a valid debit card")
+        public void shouldBuyWithValidCard() {
+            var mark = markPayments();
+            pay(getValidApprovedCard())
+                    .statusCode(200)
+                    .body("status", equalTo("APPROVED"));
+            var payments = getPaymentsAfter(mark);
+            assertEquals(1, payments.size());
+            var paymentInfo = payments.get(0);
+            var orders = getOrdersByPaymentId(paymentInfo.getTransaction_id());
+            assertEquals(1, orders.size());
+            assertEquals("APPROVED", paymentInfo.getStatus());
+        }
+    }
+
+    @Nested
+    public class DeclinedCard {
+
+        @Test
+        @ResourceLock(PURCHASE_LOCK)
+        @DisplayName("№2 Buying with a declined debit card")
+        public void buyWithDeclinedCard() {
+            var mark = markPayments();
+            pay(getValidDeclinedCard())
+                    .statusCode(200)
+                    .body("status", equalTo("DECLINED"));
+            var payments = getPaymentsAfter(mark);
+            assertEquals(1, payments.size());
+            var paymentInfo = payments.get(0);
+            var orders = getOrdersByPaymentId(paymentInfo.getTransaction_id());
+            assertEquals(1, orders.size());
+            assertEquals("DECLINED", paymentInfo.getStatus());
+        }
+    }
+
+    @Nested
+    @ResourceLock(PURCHASE_LOCK)
+    public class CardNumberField {
+
+        @Test
+        @DisplayName("№3 13 digits in the card number field")
+        public void thirteenDigitsCardNumber() {
+            rejected(pay(getValidApprovedCard().withNumber(getCardNumberWith13Digits())));
+        }
+
+        @Test
+        @DisplayName("№4 16 zero in the card number field")
+        public void sixteenZeroCardNumber() {
+            rejected(pay(getValidApprovedCard().withNumber(getCardNumberWith16Zero())));
+        }
+
+        @Test
+        @DisplayName("№5 The card number field is empty")
+        public void emptyCardNumber() {
+            rejected(pay(getValidApprovedCard().withNumber(getEmptyCardNumber())));
+        }
+    }
+
+    @Nested
+    @ResourceLock(PURCHASE_LOCK)
+    public class MonthField {
+
+        @Test
+        @DisplayName("№6 The figure more than 12 is in the month field")
+        public void moreThan12InMonth() {
+            rejected(pay(getValidApprovedCard().withMonth(getTwoDigitsGreaterThan12())));
+        }
+
+        @Test
+        @DisplayName("№7 Figure 0 is in the month field")
+        public void zeroDigitInMonth() {
+            rejected(pay(getValidApprovedCard().withMonth(getZeroDigit())));
+        }
+
+        @Test
+        @DisplayName("№8 Two 0 are in the month field")
+        public void twoZeroInMonth() {
+            rejected(pay(getValidApprovedCard().withMonth(getTwoZeroDigits())));
+        }
+
+        @Test
+        @DisplayName("№9 A digit is in the month field")
+        public void oneDigitInMonth() {
+            rejected(pay(getValidApprovedCard().withMonth(getOneDigit())));
+        }
+
+        @Test
+        @DisplayName("№10 Previous month and current year are in their fields")
+        public void previousMonthAndCurrentYear() {
+            rejected(pay(getValidApprovedCard().withMonth(getMonth(-1)).withYear(getYear(0))));
+        }
+
+        @Test
+        @DisplayName("№11 The month field is empty")
+        public void emptyMonth() {
+            rejected(pay(getValidApprovedCard().withMonth(getEmptyMonth())));
+        }
+    }
+
+    @Nested
+    @ResourceLock(PURCHASE_LOCK)
+    public class YearField {
+
+        @Test
+        @DisplayName("№12 A digit is in year field")
+        public void oneDigitYear() {
+            rejected(pay(getValidApprovedCard().withYear(getOneDigit())));
+        }
+
+        @Test
+        @DisplayName("№13 Previous years are in year field")
+        public void oldYear() {
+            rejected(pay(getValidApprovedCard().withYear(getYear(-1))));
+        }
+
+        @Test
+        @DisplayName("№14 Two zero are in year field")
+        public void twoZeroYear() {
+            rejected(pay(getValidApprovedCard().withYear("00")));
+        }
+
+        @Test
+        @DisplayName("№15 The Year greater than the current year on 6 is in year field")
+        public void greatestYear() {
+            rejected(pay(getValidApprovedCard().withYear(getTwoDigitsGreaterThan28())));
+        }
+
+        @Test
+        @DisplayName("№16 The year field is empty")
+        public void emptyYear() {
+            rejected(pay(getValidApprovedCard().withYear(getEmptyYear())));
+        }
+    }
+
+    @Nested
+    @ResourceLock(PURCHASE_LOCK)
+    public class CardholdersNameField {
+
+        @Test
+        @DisplayName("№17 Figures are in cardholder's name")
+        public void cardholderFigures() {
+            rejected(pay(getValidApprovedCard().withOwner(getOwnerWithFigures())));
+        }
+
+        @Test
+        @DisplayName("№18 Symbols are in cardholder's name")
+        public void cardholderSymbols() {
+            rejected(pay(getValidApprovedCard().withOwner(getOwnerWithSymbols())));
+        }
+
+        @Test
+        @DisplayName("№19 Cardholder's name is on Cyrillic")
+        public void cardholderOnCyrillic() {
+            rejected(pay(getValidApprovedCard().withOwner(getOwnerWithCyrillic())));
+        }
+
+        @Test
+        @DisplayName("№20 Cardholder's name is on lower case")
+        public void cardholderLowerCase() {
+            rejected(pay(getValidApprovedCard().withOwner(getOwnerWithLatinLowerCase())));
+        }
+
+        @Test
+        @DisplayName("№21 Cardholder's name is on capital letters")
+        public void cardholderCapitalLetters() {
+            rejected(pay(getValidApprovedCard().withOwner(getOwnerWithCapitalLetters())));
+        }
+
+        @Test
+        @DisplayName("№22 Cardholder's name is greater than 85 symbols")
+        public void cardholderGreaterThan85() {
+            rejected(pay(getValidApprovedCard().withOwner(getOwnerWithLatinUpperCaseMoreThan85Symbols())));
+        }
+
+        @Test
+        @DisplayName("№23 The cardholder's name field is empty")
+        public void emptyOwner() {
+            rejected(pay(getValidApprovedCard().withOwner(getEmptyOwner())));
+        }
+    }
+
+    @Nested
+    @ResourceLock(PURCHASE_LOCK)
+    public class CvcField {
+
+        @Test
+        @DisplayName("№24 Three zero are in CVC field")
+        public void threeZeroCvc() {
+            rejected(pay(getValidApprovedCard().withCvc("000")));
+        }
+
+        @Test
+        @DisplayName("№25 Less than 3 digits are in CVC field")
+        public void lessThan3DigitsCvc() {
+            rejected(pay(getValidApprovedCard().withCvc(getLessThan3Cvc())));
+        }
+
+        @Test
+        @DisplayName("№26 The cvc field is empty")
+        public void emptyCvc() {
+            rejected(pay(getValidApprovedCard().withCvc(getEmptyCVC())));
+        }
+    }
+
+    @Nested
+    @EnabledIfSystemProperty(named = "gate.embedded", matches = "true")
+    public class BankGate {
+
+        @Test
+        @ResourceLock(PURCHASE_LOCK)
+        @DisplayName("№27 Valid card data is sent to the bank once")
+        public void validDataIsSentToBankOnce(GateStub gate) {
+            var cardData = getValidApprovedCard();
+            var before = gate.getCalls(GateStub.PAYMENT, cardData.getNumber());
+            pay(cardData).statusCode(200);
+            assertEquals(before + 1, gate.getCalls(GateStub.PAYMENT, cardData.getNumber()));
+        }
+
+        @Test
+        @ResourceLock(PURCHASE_LOCK)
+        @DisplayName("№28 Invalid card data is not sent to the bank")
+        public void invalidDataIsNotSentToBank(GateStub gate) {
+            var cardData = getValidApprovedCard().withCvc("000");
+            var before = gate.getCalls(GateStub.PAYMENT, cardData.getNumber());
+            rejected(pay(cardData));
+            assertEquals(before, gate.getCalls(GateStub.PAYMENT, cardData.getNumber()));
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package ru.netology.test;
+
+import io.restassured.response.ValidatableResponse;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import ru.netology.data.DbPoolExtension;
+import ru.netology.data.DbResetExtension;
+import ru.netology.data.SeedExtension;
+import ru.netology.env.GateExtension;
+import ru.netology.env.ResultCacheExtension;
+import ru.netology.env.SutExtension;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.netology.data.ApiHelper.*;
+import static ru.netology.data.DataGenerator.*;
+import static ru.netology.data.DbHelper.*;
+
+@Tag("api")
+@ExtendWith({ResultCacheExtension.class, GateExtension.class, SutExtension.class, DbPoolExtension.class, DbResetExtension.class, SeedExtension.class})
+public class ApiCreditTest {
+
+    private static void rejected(ValidatableResponse response) {
+        response.statusCode(greaterThanOrEqualTo(400));
+    }
+
+    @Nested
+    public class PositiveScenarios {
+
+        @Test
+        @ResourceLock(PURCHASE_LOCK)
+        @DisplayName("№1 Buying in credit with a valid card")
+        public void shouldBuyWithValidCard() {
+            var mark = markCreditRequests();
+            credit(getValidApprovedCard())
+                    .statusCode(200)
+                    .body("status", equalTo("APPROVED"));
+            var creditRequests = getCreditRequestsAfter(mark);
+            assertEquals(1, creditRequests.size());
+            var creditInfo = creditRequests.get(0);
+            var orders = getOrdersByCreditId(creditInfo.getId());
+            assertEquals(1, orders.size());
+            assertEquals("APPROVED", creditInfo.getStatus());
+        }
+    }
+
+    @Nested
+    public class DeclinedCard {
+
+        @Test
+        @ResourceLock(PURCHASE_LOCK)
+        @DisplayName("№2 Buying with a declined credit card")
+        public void buyWithDeclinedCard() {
+            var mark = markCreditRequests();
+            credit(getValidDeclinedCard())
+                    .statusCode(200)
+                    .body("status", equalTo("DECLINED"));
+            var creditRequests = getCreditRequestsAfter(mark);
+            assertEquals(1, creditRequests.size());
+            var creditInfo = creditRequests.get(0);
+            var orders = getOrdersByCreditId(creditInfo.getId());
+            assertEquals(1, orders.size());
+            assertEquals("DECLINED", creditInfo.getStatus());
+        }
+    }
+
+    @Nested
+    @ResourceLock(PURCHASE_LOCK)
+    public class CardNumberField {
+
+        @Test
+        @DisplayName("№3 13 digits in the card number field")
+        public void thirteenDigitsCardNumber() {
+            rejected(credit(getValidApprovedCard().withNumber(getCardNumberWith13Digits())));
+        }
+
+        @Test
+        @DisplayName("№4 16 zero in the card number field")
+        public void sixteenZeroCardNumber() {
+            rejected(credit(getValidApprovedCard().withNumber(getCardNumberWith16Zero())));
+        }
+
+        @Test
+        @DisplayName("№5 The card number field is empty")
+        public void emptyCardNumber() {
+            rejected(credit(getValidApprovedCard().withNumber(getEmptyCardNumber())));
+        }
+    }
+
+    @Nested
+    @ResourceLock(PURCHASE_LOCK)
+    public class MonthField {
+
+        @Test
+        @DisplayName("№6 The figure more than 12 is in the month field")
+        public void moreThan12InMonth() {
+            rejected(credit(getValidApprovedCard().withMonth(getTwoDigitsGreaterThan12())));
+        }
+
+        @Test
+        @DisplayName("№7 Figure 0 is in the month field")
+        public void zeroDigitInMonth() {
+            rejected(credit(getValidApprovedCard().withMonth(getZeroDigit())));
+        }
+
+        @Test
+        @DisplayName("№8 Two 0 are in the month field")
+        public void twoZeroInMonth() {
+            rejected(credit(getValidApprovedCard().withMonth(getTwoZeroDigits())));
+        }
+
+        @Test
+        @DisplayName("№9 A digit is in the month field")
+        public void oneDigitInMonth() {
+            rejected(credit(getValidApprovedCard().withMonth(getOneDigit())));
+        }
+
+        @Test
+        @DisplayName("№10 Previous month and current year are in their fields")
+        public void previousMonthAndCurrentYear() {
+            rejected(credit(getValidApprovedCard().withMonth(getMonth(-1)).withYear(getYear(0))));
+        }
+
+        @Test
+        @DisplayName("№11 The month field is empty")
+        public void emptyMonth() {
+            rejected(credit(getValidApprovedCard().withMonth(getEmptyMonth())));
+        }
+    }
+
+    @Nested
+    @ResourceLock(PURCHASE_LOCK)
+    public class YearField {
+
+        @Test
+        @DisplayName("№12 A digit is in year field")
+        public void oneDigitYear() {
+            rejected(credit(getValidApprovedCard().withYear(getOneDigit())));
+        }
+
+        @Test
+        @DisplayName("№13 Previous years are in year field")
+        public void oldYear() {
+            rejected(credit(getValidApprovedCard().withYear(getYear(-1))));
+        }
+
+        @Test
+        @DisplayName("№14 Two zero are in year field")
+        public void twoZeroYear() {
+            rejected(credit(getValidApprovedCard().withYear("00")));
+        }
+
+        @Test
+        @DisplayName("№15 The Year greater than the current year on 6 is in year field")
+        public void greatestYear() {
+            rejected(credit(getValidApprovedCard().withYear(getTwoDigitsGreaterThan28())));
+        }
+
+        @Test
+        @DisplayName("№16 The year field is empty")
+        public void emptyYear() {
+            rejected(credit(getValidApprovedCard().withYear(getEmptyYear())));
+        }
+    }
+
+    @Nested
+    @ResourceLock(PURCHASE_LOCK)
+    public class CardholdersNameField {
+
+        @Test
+        @DisplayName("№17 Figures are in cardholder's name")
+        public void cardholderFigures() {
+            rejected(credit(getValidApprovedCard().withOwner(getOwnerWithFigures())));
+        }
+
+        @Test
+        @DisplayName("№18 Symbols are in cardholder's name")
+        public void cardholderSymbols() {
+            rejected(credit(getValidApprovedCard().withOwner(getOwnerWithSymbols())));
+        }
+
+        @Test
+        @DisplayName("№19 Cardholder's name is on Cyrillic")
+        public void cardholderOnCyrillic() {
+            rejected(credit(getValidApprovedCard().withOwner(getOwnerWithCyrillic())));
+        }
+
+        @Test
+        @DisplayName("№20 Cardholder's name is on lower case")
+        public void cardholderLowerCase() {
+            rejected(credit(getValidApprovedCard().withOwner(getOwnerWithLatinLowerCase())));
+        }
+
+        @Test
+        @DisplayName("№21 Cardholder's name is on capital letters")
+        public void cardholderCapitalLetters() {
+            rejected(credit(getValidApprovedCard().withOwner(getOwnerWithCapitalLetters())));
+        }
+
+        @Test
+        @DisplayName("№22 Cardholder's name is greater than 85 symbols")
+        public void cardholderGreaterThan85() {
+            rejected(credit(getValidApprovedCard().withOwner(getOwnerWithLatinUpperCaseMoreThan85Symbols())));
+        }
+
+        @Test
+        @DisplayName("№23 The cardholder's name field is empty")
+        public void emptyOwner() {
+            rejected(credit(getValidApprovedCard().withOwner(getEmptyOwner())));
+        }
+    }
+
+    @Nested
+    @ResourceLock(PURCHASE_LOCK)
+    public class CvcField {
+
+        @Test
+        @DisplayName("№24 Three zero are in CVC field")
+        public void threeZeroCvc() {
+            rejected(credit(getValidApprovedCard().withCvc("000")));
+        }
+
+        @Test
+        @DisplayName("№25 Less than 3 digits are in CVC field")
+        public void lessThan3DigitsCvc() {
+            rejected(credit(getValidApprovedCard().withCvc(getLessThan3Cvc())));
+        }
+
+        @Test
+        @DisplayName("№26 The cvc field is empty")
+        public void emptyCvc() {
+            rejected(credit(getValidApprovedCard().withCvc(getEmptyCVC())));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.netology.test;
+
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ru.netology.data.DbPoolExtension;
+import ru.netology.env.GateExtension;
+import ru.netology.env.SutExtension;
+import ru.netology.load.LoadConfig;
+import ru.netology.load.LoadRunner;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@ExtendWith({GateExtension.class, SutExtension.class, DbPoolExtension.class})
+public class PurchaseLoadTest {
+
+    @Test
+    @DisplayName("Purchase flow under load")
+    public void purchaseFlowUnderLoad() throws InterruptedException {
+        var config = LoadConfig.fromSystemProperties();
+        var result = new LoadRunner(config).run();
+        Allure.addAttachment("Load report", result.toString());
+        var maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0"));
+        assertTrue(result.getErrors() <= result.getCount() * maxErrorRate,
+                "Too many failed requests: " + result.getErrors() + " of " + result.getCount());
+        result.getVerifier().assertConsistent();
+    }
+}
@@ -1,54 +1,67 @@
 package ru.netology.test;
 
 import com.codeborne.selenide.Configuration;
-import com.codeborne.selenide.logevents.SelenideLogger;
-import io.qameta.allure.selenide.AllureSelenide;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import ru.netology.data.DataGenerator;
+import ru.netology.data.DbPoolExtension;
+import ru.netology.data.DbResetExtension;
+import ru.netology.data.SeedExtension;
+import ru.netology.env.GateExtension;
+import ru.netology.env.ResultCacheExtension;
+import ru.netology.env.SutExtension;
+import ru.netology.pages.BrowserSession;
+import ru.netology.pages.BrowserSessionExtension;
 import ru.netology.pages.DebitPage;
 import ru.netology.pages.StartPage;
+import ru.netology.report.EvidenceExtension;
+import ru.netology.report.PerformanceBudget;
+import ru.netology.report.PhaseTimer;
+import ru.netology.report.PhaseTimingExtension;
 
-import static com.codeborne.selenide.Selenide.open;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static ru.netology.data.DataGenerator.*;
 import static ru.netology.data.DbHelper.*;
 
+@Tag("ui")
+@ExtendWith({ResultCacheExtension.class, GateExtension.class, SutExtension.class, DbPoolExtension.class, DbResetExtension.class, SeedExtension.class, BrowserSessionExtension.class, EvidenceExtension.class, PhaseTimingExtension.class})
 public class TicketBuyingTest {
 
     @BeforeAll
     public static void setUpAll() {
-        SelenideLogger.addListener("allure", new AllureSelenide());
         Configuration.headless = true;
     }
 
     @BeforeEach
     public void openPage() {
-        open("http://localhost:8080");
-    }
-
-    @AfterAll
-    public static void tearDownAll() {
-        SelenideLogger.removeListener("allure");
+        BrowserSession.open(SutExtension.url());
     }
 
     @Nested
     public class PositiveScenarios {
 
         @Test
+        @Tag("smoke")
+        @ResourceLock(PURCHASE_LOCK)
         @DisplayName("№1 Buying with a valid debit card")
+        @PerformanceBudget(phase = PhaseTimer.NOTIFICATION, millis = 5000)
         public void shouldBuyWithValidCard() {
             var startPage = new StartPage();
             var cardData = getValidApprovedCard();
+            var mark = markPayments();
             startPage.chooseDebitCard();
             var debitPage = new DebitPage();
             debitPage.sendDataInForm(cardData.getNumber(), cardData.getMonth(), cardData.getYear(),
                     cardData.getOwner(), cardData.getCvc());
             debitPage.approved();
             var expected = "APPROVED";
-            var paymentInfo = getPaymentInfo();
-            var orderInfo = getOrderInfo();
+            var payments = getPaymentsAfter(mark);
+            assertEquals(1, payments.size());
+            var paymentInfo = payments.get(0);
+            var orders = getOrdersByPaymentId(paymentInfo.getTransaction_id());
+            assertEquals(1, orders.size());
             assertEquals(expected, paymentInfo.getStatus());
-            assertEquals(paymentInfo.getTransaction_id(), orderInfo.getPayment_id());
         }
 
     }
@@ -57,23 +70,29 @@ public class TicketBuyingTest {
     public class DeclinedCard {
 
         @Test
+        @Tag("smoke")
+        @ResourceLock(PURCHASE_LOCK)
         @DisplayName("№2 Buying with a declined debit card")
         public void buyWithDeclinedCard() {
             var startPage = new StartPage();
             var cardData = getValidDeclinedCard();
+            var mark = markPayments();
             startPage.chooseDebitCard();
             var debitPage = new DebitPage();
             debitPage.sendDataInForm(cardData.getNumber(), cardData.getMonth(), cardData.getYear(),
                     cardData.getOwner(), cardData.getCvc());
             debitPage.declined();
             var expected = "DECLINED";
-            var paymentInfo = getPaymentInfo();
-            var orderInfo = getOrderInfo();
+            var payments = getPaymentsAfter(mark);
+            assertEquals(1, payments.size());
+            var paymentInfo = payments.get(0);
+            var orders = getOrdersByPaymentId(paymentInfo.getTransaction_id());
+            assertEquals(1, orders.size());
             assertEquals(expected, paymentInfo.getStatus());
-            assertEquals(paymentInfo.getTransaction_id(), orderInfo.getPayment_id());
         }
 
         @Nested
+        @ResourceLock(PURCHASE_LOCK)
         public class CardNumberField {
 
             @Test
@@ -115,6 +134,7 @@ public class TicketBuyingTest {
         }
 
         @Nested
+        @ResourceLock(PURCHASE_LOCK)
         public class MonthField {
 
             @Test
@@ -194,6 +214,7 @@ public class TicketBuyingTest {
         }
 
         @Nested
+        @ResourceLock(PURCHASE_LOCK)
         public class YearField {
 
             @Test
@@ -259,6 +280,7 @@ public class TicketBuyingTest {
         }
 
         @Nested
+        @ResourceLock(PURCHASE_LOCK)
         public class CardholdersNameField {
 
             @Test
@@ -346,6 +368,7 @@ public class TicketBuyingTest {
         }
 
         @Nested
+        @ResourceLock(PURCHASE_LOCK)
         public class CvcField {
 
             @Test
@@ -1,54 +1,67 @@
 package ru.netology.test;
 
 import com.codeborne.selenide.Configuration;
-import com.codeborne.selenide.logevents.SelenideLogger;
-import io.qameta.allure.selenide.AllureSelenide;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import ru.netology.data.DataGenerator;
+import ru.netology.data.DbPoolExtension;
+import ru.netology.data.DbResetExtension;
+import ru.netology.data.SeedExtension;
+import ru.netology.env.GateExtension;
+import ru.netology.env.ResultCacheExtension;
+import ru.netology.env.SutExtension;
+import ru.netology.pages.BrowserSession;
+import ru.netology.pages.BrowserSessionExtension;
 import ru.netology.pages.CreditPage;
 import ru.netology.pages.StartPage;
+import ru.netology.report.EvidenceExtension;
+import ru.netology.report.PerformanceBudget;
+import ru.netology.report.PhaseTimer;
+import ru.netology.report.PhaseTimingExtension;
 
-import static com.codeborne.selenide.Selenide.open;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static ru.netology.data.DataGenerator.*;
 import static ru.netology.data.DbHelper.*;
 
+@Tag("ui")
+@ExtendWith({ResultCacheExtension.class, GateExtension.class, SutExtension.class, DbPoolExtension.class, DbResetExtension.class, SeedExtension.class, BrowserSessionExtension.class, EvidenceExtension.class, PhaseTimingExtension.class})
 public class TicketCreditTest {
 
     @BeforeAll
     public static void setUpAll() {
-        SelenideLogger.addListener("allure", new AllureSelenide());
         Configuration.headless = true;
     }
 
     @BeforeEach
     public void openPage() {
-        open("http://localhost:8080");
-    }
-
-    @AfterAll
-    public static void tearDownAll() {
-        SelenideLogger.removeListener("allure");
+        BrowserSession.open(SutExtension.url());
     }
 
     @Nested
     public class PositiveScenarios {
 
         @Test
+        @Tag("smoke")
+        @ResourceLock(PURCHASE_LOCK)
         @DisplayName("№1 Buying in credit with a valid card")
+        @PerformanceBudget(phase = PhaseTimer.NOTIFICATION, millis = 5000)
         public void shouldBuyWithCreditValidCard() {
             var startPage = new StartPage();
             var cardData = getValidApprovedCard();
+            var mark = markCreditRequests();
             startPage.chooseCreditCard();
             var creditPage = new CreditPage();
             creditPage.sendDataInForm(cardData.getNumber(), cardData.getMonth(), cardData.getYear(),
                     cardData.getOwner(), cardData.getCvc());
             creditPage.approved();
             var expected = "APPROVED";
-            var creditInfo = getCreditRequestInfo();
-            var orderInfo = getOrderInfo();
+            var creditRequests = getCreditRequestsAfter(mark);
+            assertEquals(1, creditRequests.size());
+            var creditInfo = creditRequests.get(0);
+            var orders = getOrdersByCreditId(creditInfo.getId());
+            assertEquals(1, orders.size());
             assertEquals(expected, creditInfo.getStatus());
-            assertEquals(creditInfo.getId(), orderInfo.getCredit_id());
         }
     }
 
@@ -56,23 +69,31 @@ public class TicketCreditTest {
     public class DeclinedCard {
 
         @Test
+        @Tag("smoke")
+        @ResourceLock(PURCHASE_LOCK)
         @DisplayName("№2 Buying with a declined credit card")
         public void buyWithDeclinedCard() {
             var startPage = new StartPage();
             var cardData = getValidDeclinedCard();
+            var mark = markCreditRequests();
             startPage.chooseCreditCard();
             var creditPage = new CreditPage();
             creditPage.sendDataInForm(cardData.getNumber(), cardData.getMonth(), cardData.getYear(),
                     cardData.getOwner(), cardData.getCvc());
             creditPage.declined();
             var expected = "DECLINED";
-            var paymentInfo = getCreditRequestInfo();
-            var orderInfo = getOrderInfo();
-            assertEquals(expected, paymentInfo.getStatus());
-            assertEquals(paymentInfo.getBank_id(), orderInfo.getPayment_id());
+            var creditRequests = getCreditRequestsAfter(mark);
+            assertEquals(1, creditRequests.size());
+            var creditInfo = creditRequests.get(0);
+            var orders = getOrdersByCreditId(creditInfo.getId());
+            assertEquals(1, orders.size());
+            assertEquals(expected, creditInfo.getStatus());
+            assertEquals(creditInfo.getBank_id(), orders.get(0).getPayment_id());
         }
 
         @Test
+        @Tag("smoke")
+        @ResourceLock(PURCHASE_LOCK)
         @DisplayName("№3 Buying in credit with a declined card")
         public void buyCreditDeclinedCard() {
             var startPage = new StartPage();
@@ -86,6 +107,7 @@ public class TicketCreditTest {
     }
 
     @Nested
+    @ResourceLock(PURCHASE_LOCK)
     public class CardNumberField {
 
         @Test
@@ -127,6 +149,7 @@ public class TicketCreditTest {
     }
 
     @Nested
+    @ResourceLock(PURCHASE_LOCK)
     public class MonthField {
 
         @Test
@@ -206,6 +229,7 @@ public class TicketCreditTest {
     }
 
     @Nested
+    @ResourceLock(PURCHASE_LOCK)
     public class YearField {
 
         @Test
@@ -270,6 +294,7 @@ public class TicketCreditTest {
     }
 
     @Nested
+    @ResourceLock(PURCHASE_LOCK)
     public class CardholdersNameField {
 
         @Test
@@ -357,6 +382,7 @@ public class TicketCreditTest {
     }
 
     @Nested
+    @ResourceLock(PURCHASE_LOCK)
     public class CvcField {
 
         @Test
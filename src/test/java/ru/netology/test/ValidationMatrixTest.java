@@ -0,0 +1,187 @@
+package ru.netology.test;
+
+import com.codeborne.selenide.Configuration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.netology.data.DataGenerator;
+import ru.netology.data.DataGenerator.CardData;
+import ru.netology.data.DbPoolExtension;
+import ru.netology.data.SeedExtension;
+import ru.netology.env.GateExtension;
+import ru.netology.env.ResultCacheExtension;
+import ru.netology.env.SutExtension;
+import ru.netology.pages.BrowserSession;
+import ru.netology.pages.BrowserSessionExtension;
+import ru.netology.pages.CreditPage;
+import ru.netology.pages.DebitPage;
+import ru.netology.pages.PaymentForm;
+import ru.netology.pages.PaymentForm.Field;
+import ru.netology.pages.StartPage;
+import ru.netology.report.EvidenceExtension;
+import ru.netology.report.PhaseTimingExtension;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static ru.netology.data.ApiHelper.credit;
+import static ru.netology.data.ApiHelper.pay;
+import static ru.netology.data.DataGenerator.*;
+import static ru.netology.data.DbHelper.PURCHASE_LOCK;
+import static ru.netology.pages.PaymentForm.*;
+
+@Tag("matrix")
+@ExtendWith({ResultCacheExtension.class, GateExtension.class, SutExtension.class, DbPoolExtension.class, SeedExtension.class, BrowserSessionExtension.class, EvidenceExtension.class, PhaseTimingExtension.class})
+public class ValidationMatrixTest {
+
+    public enum Purchase {
+        DEBIT,
+        CREDIT
+    }
+
+    public enum Layer {
+        UI,
+        API
+    }
+
+    public static class ValidationCase {
+        private final String name;
+        private final Map<Field, Supplier<String>> overrides = new EnumMap<>(Field.class);
+        private final Map<Field, String> expected = new EnumMap<>(Field.class);
+
+        private ValidationCase(String name) {
+            this.name = name;
+        }
+
+        private ValidationCase set(Field field, Supplier<String> value) {
+            overrides.put(field, value);
+            return this;
+        }
+
+        private ValidationCase expect(Field field, String message) {
+            expected.put(field, message);
+            return this;
+        }
+
+        private CardData card() {
+            var card = getValidApprovedCard();
+            for (Map.Entry<Field, Supplier<String>> override : overrides.entrySet()) {
+                var value = override.getValue().get();
+                switch (override.getKey()) {
+                    case CARD_NUMBER -> card = card.withNumber(value);
+                    case MONTH -> card = card.withMonth(value);
+                    case YEAR -> card = card.withYear(value);
+                    case OWNER -> card = card.withOwner(value);
+                    case CVC -> card = card.withCvc(value);
+                }
+            }
+            return card;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static ValidationCase invalid(String name) {
+        return new ValidationCase(name);
+    }
+
+    static List<ValidationCase> table() {
+        var cases = new ArrayList<>(List.of(
+                invalid("16 zero in the card number field").set(Field.CARD_NUMBER, DataGenerator::getCardNumberWith16Zero).expect(Field.CARD_NUMBER, FORMAT),
+                invalid("The card number field is empty").set(Field.CARD_NUMBER, DataGenerator::getEmptyCardNumber).expect(Field.CARD_NUMBER, REQUIRED),
+                invalid("The figure more than 12 is in the month field").set(Field.MONTH, DataGenerator::getTwoDigitsGreaterThan12).expect(Field.MONTH, TERM),
+                invalid("Figure 0 is in the month field").set(Field.MONTH, DataGenerator::getZeroDigit).expect(Field.MONTH, FORMAT),
+                invalid("Two 0 are in the month field").set(Field.MONTH, DataGenerator::getTwoZeroDigits).expect(Field.MONTH, TERM),
+                invalid("A digit is in the month field").set(Field.MONTH, DataGenerator::getOneDigit).expect(Field.MONTH, FORMAT),
+                invalid("Previous month and current year are in their fields").set(Field.MONTH, () -> getMonth(-1))
+                        .set(Field.YEAR, () -> getYear(0)).expect(Field.MONTH, TERM),
+                invalid("The month field is empty").set(Field.MONTH, DataGenerator::getEmptyMonth).expect(Field.MONTH, REQUIRED),
+                invalid("A digit is in year field").set(Field.YEAR, DataGenerator::getOneDigit).expect(Field.YEAR, FORMAT),
+                invalid("Previous years are in year field").set(Field.YEAR, () -> getYear(-1)).expect(Field.YEAR, EXPIRED),
+                invalid("Two zero are in year field").set(Field.YEAR, () -> "00").expect(Field.YEAR, EXPIRED),
+                invalid("The year greater than the current year on 6 is in year field").set(Field.YEAR, DataGenerator::getTwoDigitsGreaterThan28)
+                        .expect(Field.YEAR, TERM),
+                invalid("The year field is empty").set(Field.YEAR, DataGenerator::getEmptyYear).expect(Field.YEAR, REQUIRED),
+                invalid("Figures are in cardholder's name").set(Field.OWNER, DataGenerator::getOwnerWithFigures).expect(Field.OWNER, FORMAT),
+                invalid("Symbols are in cardholder's name").set(Field.OWNER, DataGenerator::getOwnerWithSymbols).expect(Field.OWNER, FORMAT),
+                invalid("Cardholder's name is on Cyrillic").set(Field.OWNER, DataGenerator::getOwnerWithCyrillic).expect(Field.OWNER, FORMAT),
+                invalid("Cardholder's name is on lower case").set(Field.OWNER, DataGenerator::getOwnerWithLatinLowerCase).expect(Field.OWNER, FORMAT),
+                invalid("Cardholder's name is on capital letters").set(Field.OWNER, DataGenerator::getOwnerWithCapitalLetters).expect(Field.OWNER, FORMAT),
+                invalid("Cardholder's name is greater than 85 symbols").set(Field.OWNER, DataGenerator::getOwnerWithLatinUpperCaseMoreThan85Symbols)
+                        .expect(Field.OWNER, LIMIT),
+                invalid("The cardholder's name field is empty").set(Field.OWNER, DataGenerator::getEmptyOwner).expect(Field.OWNER, REQUIRED),
+                invalid("Three zero are in CVC field").set(Field.CVC, () -> "000").expect(Field.CVC, FORMAT),
+                invalid("Less than 3 digits are in CVC field").set(Field.CVC, DataGenerator::getLessThan3Cvc).expect(Field.CVC, FORMAT),
+                invalid("The cvc field is empty").set(Field.CVC, DataGenerator::getEmptyCVC).expect(Field.CVC, REQUIRED)
+        ));
+        IntStream.rangeClosed(1, 15).forEach(digits -> cases.add(
+                invalid(digits + " digits in the card number field")
+                        .set(Field.CARD_NUMBER, () -> getValidApprovedCard().getNumber().replace(" ", "").substring(0, digits))
+                        .expect(Field.CARD_NUMBER, FORMAT)));
+        return cases;
+    }
+
+    static Stream<Arguments> cases() {
+        var layers = switch (System.getProperty("matrix.layer", "api").toLowerCase()) {
+            case "ui" -> List.of(Layer.UI);
+            case "both" -> List.of(Layer.UI, Layer.API);
+            default -> List.of(Layer.API);
+        };
+        var shardIndex = Integer.getInteger("shard.index", 0);
+        var shardCount = Integer.getInteger("shard.count", 1);
+        var table = table();
+        var arguments = new ArrayList<Arguments>();
+        var index = 0;
+        for (Layer layer : layers) {
+            for (Purchase purchase : Purchase.values()) {
+                for (ValidationCase validationCase : table) {
+                    if (index++ % shardCount == shardIndex) {
+                        arguments.add(Arguments.of(layer, purchase, validationCase));
+                    }
+                }
+            }
+        }
+        return arguments.stream();
+    }
+
+    @BeforeAll
+    public static void setUpAll() {
+        Configuration.headless = true;
+    }
+
+    @ParameterizedTest(name = "{0} {1}: {2}")
+    @MethodSource("cases")
+    @ResourceLock(PURCHASE_LOCK)
+    public void shouldRejectInvalidCard(Layer layer, Purchase purchase, ValidationCase validationCase) {
+        var card = validationCase.card();
+        if (layer == Layer.API) {
+            (purchase == Purchase.DEBIT ? pay(card) : credit(card)).statusCode(greaterThanOrEqualTo(400));
+            return;
+        }
+        BrowserSession.open(SutExtension.url());
+        var startPage = new StartPage();
+        PaymentForm form;
+        if (purchase == Purchase.DEBIT) {
+            startPage.chooseDebitCard();
+            form = new DebitPage();
+        } else {
+            startPage.chooseCreditCard();
+            form = new CreditPage();
+        }
+        form.sendDataInForm(card.getNumber(), card.getMonth(), card.getYear(), card.getOwner(), card.getCvc());
+        form.shouldHaveErrors(validationCase.expected);
+    }
+}